@@ -0,0 +1,60 @@
+package octguy.demospringboot.benchmark;
+
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.service.StudentService;
+import octguy.demospringboot.service.SyntheticDataService;
+import octguy.demospringboot.service.SyntheticStudentGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic student fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Inserts {@code count} synthetic students into a started context, which reconciles
+     * {@code major_stats} and resyncs the in-memory views, then checks the dashboard against the
+     * table.
+     */
+    static void seed(ConfigurableApplicationContext context, int count) {
+        context.getBean(SyntheticDataService.class).insertStudents(SEED, 0, count,
+                Math.min(8, Runtime.getRuntime().availableProcessors()), 5_000);
+
+        long rows = context.getBean(StudentRepository.class).count();
+        long total = context.getBean(StudentService.class).getDashboardStats().getTotalStudents();
+        if (total != rows) {
+            throw new IllegalStateException("Dashboard counts " + total + " students but the table has " + rows);
+        }
+    }
+
+    static List<Student> students(int count) {
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(SEED);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = generator.generate(i);
+            student.setId((long) i + 1);
+            students.add(student);
+        }
+        return students;
+    }
+
+    static String csv(List<Student> students) {
+        StringBuilder csv = new StringBuilder(students.size() * 64).append("Name,Email,Major,GPA\n");
+        for (Student student : students) {
+            csv.append(student.getName()).append(',')
+                    .append(student.getEmail()).append(',')
+                    .append(student.getMajor()).append(',')
+                    .append(student.getGpa()).append('\n');
+        }
+        return csv.toString();
+    }
+}
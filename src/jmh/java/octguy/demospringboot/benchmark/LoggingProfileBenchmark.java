@@ -0,0 +1,70 @@
+package octguy.demospringboot.benchmark;
+
+import octguy.demospringboot.DemoSpringBootApplication;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-path throughput under the development logging setup (synchronous console, SQL and
+ * DEBUG output) versus the {@code prod} profile (async JSON, sampled hot-path messages).
+ * Unlike the other benchmarks, logging is left as each profile configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class LoggingProfileBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    @Param({"10000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .run("--spring.datasource.url=jdbc:h2:mem:logbench" + profile + ";DB_CLOSE_DELAY=-1",
+                        "--management.server.port=-1",
+                        "--app.query-budget.enabled=false");
+        BenchmarkData.seed(context, students);
+        studentService = context.getBean(StudentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Student getStudentById() {
+        return studentService.getStudentById(1L);
+    }
+
+    @Benchmark
+    public Page<Student> getAllStudents() {
+        return studentService.getAllStudents(0, 10, "id");
+    }
+}
@@ -0,0 +1,65 @@
+package octguy.demospringboot.benchmark;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.service.StudentCsvService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV import parsing (tokenize + row conversion) and export writing, without the database
+ * round trips, so the cost of the CSV code itself is visible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentCsvBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int students;
+
+    private final StudentCsvService csvService = new StudentCsvService(null, null);
+    private byte[] csv;
+    private List<Student> exportRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exportRows = BenchmarkData.students(students);
+        csv = BenchmarkData.csv(exportRows).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Student> importParsing() throws IOException, CsvException {
+        List<String[]> rows;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+            rows = reader.readAll();
+        }
+        return csvService.parseRows(rows, new ArrayList<>());
+    }
+
+    @Benchmark
+    public void exportWriting() throws IOException {
+        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8))) {
+            csvService.writeStudents(writer, exportRows);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package octguy.demospringboot.benchmark;
+
+import octguy.demospringboot.DemoSpringBootApplication;
+import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer hot paths against a seeded in-memory H2 database. One Spring context is
+ * booted per dataset size; the database is seeded with synthetic students before measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + students + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--management.server.port=-1",
+                        "--app.query-budget.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.octguy.demospringboot=WARN");
+        BenchmarkData.seed(context, students);
+        studentService = context.getBean(StudentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardStats getDashboardStats() {
+        return studentService.getDashboardStats();
+    }
+
+    @Benchmark
+    public Page<Student> filterStudents() {
+        return studentService.filterStudents("james", "Computer Science", 3.0, 4.0, 0, 10, "id");
+    }
+
+    @Benchmark
+    public Page<Student> searchStudents() {
+        return studentService.searchStudents("smith", 0, 10, "id");
+    }
+}
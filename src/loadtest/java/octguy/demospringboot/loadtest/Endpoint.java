@@ -0,0 +1,60 @@
+package octguy.demospringboot.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * The request mix. Weights are relative; admin-only endpoints are only picked by admin sessions.
+ */
+enum Endpoint {
+    LIST(35, false),
+    FILTER(20, false),
+    VIEW(25, false),
+    DASHBOARD(15, false),
+    EXPORT(3, true),
+    IMPORT(2, true),
+    LOGIN(0, false);
+
+    private static final String[] MAJORS = {"Computer Science", "Mathematics", "Physics", "Biology", "Economics"};
+    private static final String[] KEYWORDS = {"jo", "smith", "an", "e", "li"};
+
+    final int weight;
+    final boolean adminOnly;
+
+    Endpoint(int weight, boolean adminOnly) {
+        this.weight = weight;
+        this.adminOnly = adminOnly;
+    }
+
+    static Endpoint pick(SplittableRandom random, boolean admin) {
+        int total = 0;
+        for (Endpoint endpoint : values()) {
+            if (admin || !endpoint.adminOnly) {
+                total += endpoint.weight;
+            }
+        }
+        int roll = random.nextInt(total);
+        for (Endpoint endpoint : values()) {
+            if (admin || !endpoint.adminOnly) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+        }
+        return LIST;
+    }
+
+    String path(SplittableRandom random, long maxStudentId) {
+        return switch (this) {
+            case LIST -> "/students?page=" + random.nextInt(3) + "&size=10&sortBy=" + (random.nextBoolean() ? "id" : "name");
+            case FILTER -> "/students?keyword=" + KEYWORDS[random.nextInt(KEYWORDS.length)]
+                    + "&major=" + MAJORS[random.nextInt(MAJORS.length)].replace(" ", "+")
+                    + "&minGpa=" + (2 + random.nextInt(2)) + ".0&maxGpa=4.0";
+            case VIEW -> "/students/" + (1 + random.nextLong(Math.max(1, maxStudentId)));
+            case DASHBOARD -> "/dashboard";
+            case EXPORT -> "/students/export";
+            case IMPORT -> "/students/import";
+            case LOGIN -> "/login";
+        };
+    }
+}
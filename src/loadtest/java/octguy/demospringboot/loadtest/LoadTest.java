@@ -0,0 +1,150 @@
+package octguy.demospringboot.loadtest;
+
+import octguy.demospringboot.DemoSpringBootApplication;
+import octguy.demospringboot.repository.StudentRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Self-contained HTTP load generator. Unless {@code --base-url} is given it boots the application
+ * on a random port against in-memory H2, logs in a pool of admin and user sessions, runs an
+ * unmeasured warmup and then a measured phase, and prints per-endpoint latency percentiles.
+ * <p>
+ * The closed model runs {@code --users} sessions that each wait for a response and then think.
+ * The open model issues {@code --rate} requests per second regardless of how fast responses come
+ * back; latency is measured from each request's scheduled start, so queueing delay is included.
+ */
+public final class LoadTest {
+
+    private final LoadTestOptions options;
+    private final LatencyReport report = new LatencyReport();
+    private final List<VirtualUser> sessions = new ArrayList<>();
+    private long maxStudentId;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.baseUrl();
+        long maxStudentId = options.maxStudentId() > 0 ? options.maxStudentId() : 8;
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(DemoSpringBootApplication.class)
+                    .run("--server.port=0",
+                            "--management.server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.octguy.demospringboot=WARN",
+                            "--logging.level.org.springframework.security=WARN");
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            if (options.maxStudentId() <= 0) {
+                maxStudentId = context.getBean(StudentRepository.class).count();
+            }
+        }
+        try {
+            LoadTest loadTest = new LoadTest(options);
+            loadTest.maxStudentId = maxStudentId;
+            loadTest.run(baseUrl);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void run(String baseUrl) throws Exception {
+        int admins = (int) Math.round(options.users() * options.adminRatio());
+        for (int i = 0; i < options.users(); i++) {
+            VirtualUser session = new VirtualUser(baseUrl, i < admins);
+            long start = System.nanoTime();
+            int status = session.login();
+            report.record(Endpoint.LOGIN, System.nanoTime() - start, status < 400);
+            sessions.add(session);
+        }
+        System.out.printf("Driving %s with %d sessions (%d admin), %s model%n",
+                baseUrl, sessions.size(), admins, options.model());
+
+        phase(options.warmup());
+        report.reset();
+        long start = System.nanoTime();
+        phase(options.duration());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report.print(System.out, options.reportDir(), seconds);
+    }
+
+    private void phase(Duration length) throws InterruptedException {
+        if (length.isZero()) {
+            return;
+        }
+        if (options.isOpenModel()) {
+            openModel(length);
+        } else {
+            closedModel(length);
+        }
+    }
+
+    private void closedModel(Duration length) throws InterruptedException {
+        long deadline = System.nanoTime() + length.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions.size(); i++) {
+                VirtualUser session = sessions.get(i);
+                SplittableRandom random = new SplittableRandom(i);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        issue(session, random, start);
+                        long thinkMillis = options.think().toMillis();
+                        if (thinkMillis > 0) {
+                            // +/- 50% jitter so users do not move in lockstep
+                            Thread.sleep(thinkMillis / 2 + random.nextLong(thinkMillis + 1));
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void openModel(Duration length) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, options.rate());
+        long begin = System.nanoTime();
+        long requests = length.toNanos() / intervalNanos;
+        SplittableRandom dispatcher = new SplittableRandom(42);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long intended = begin + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                VirtualUser session = sessions.get(dispatcher.nextInt(sessions.size()));
+                SplittableRandom random = dispatcher.split();
+                executor.submit(() -> issue(session, random, intended));
+            }
+        }
+    }
+
+    private void issue(VirtualUser session, SplittableRandom random, long intendedStart) {
+        Endpoint endpoint = Endpoint.pick(random, session.isAdmin());
+        boolean success;
+        try {
+            success = session.execute(endpoint, random, maxStudentId) < 400;
+        } catch (Exception e) {
+            success = false;
+        }
+        report.record(endpoint, System.nanoTime() - intendedStart, success);
+    }
+}
@@ -0,0 +1,77 @@
+package octguy.demospringboot.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}.
+ *
+ * <pre>
+ *   --model=closed|open   closed: fixed users with think time; open: fixed arrival rate
+ *   --users=50            closed model: concurrent virtual users (also the session pool size for open)
+ *   --rate=100            open model: requests per second
+ *   --duration=60s        measured run length
+ *   --warmup=10s          unmeasured run before the measured one
+ *   --think=200ms         closed model: pause between a user's requests
+ *   --admin-ratio=0.2     share of sessions logged in as admin (only admins import/export)
+ *   --base-url=URL        drive an already running instance instead of booting one
+ *   --max-student-id=N    highest id the view requests pick from (default: looked up when booting in-process, else 8)
+ *   --report-dir=DIR      where the .hgrm percentile distributions are written
+ * </pre>
+ */
+record LoadTestOptions(
+        String model,
+        int users,
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Duration think,
+        double adminRatio,
+        String baseUrl,
+        long maxStudentId,
+        Path reportDir) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("model", "closed"),
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Integer.parseInt(values.getOrDefault("rate", "100")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("think", "200ms")),
+                Double.parseDouble(values.getOrDefault("admin-ratio", "0.2")),
+                values.get("base-url"),
+                Long.parseLong(values.getOrDefault("max-student-id", "0")),
+                Path.of(values.getOrDefault("report-dir", "build/reports/loadtest")));
+        if (!options.model.equals("closed") && !options.model.equals("open")) {
+            throw new IllegalArgumentException("--model must be closed or open");
+        }
+        return options;
+    }
+
+    boolean isOpenModel() {
+        return model.equals("open");
+    }
+
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,89 @@
+package octguy.demospringboot.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Boots the native executable against in-memory H2 and walks the paths most likely to break under
+ * closed-world compilation: the login form (Spring Security, Thymeleaf), the student list (Hibernate,
+ * SpEL over the entities) and the CSV export (OpenCSV). Exits non-zero on the first failure.
+ * <p>
+ * Arguments: {@code <native executable>}.
+ */
+public final class NativeSmokeTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+    private static final String CSV_HEADER = "\"ID\",\"Name\",\"Email\",\"Major\",\"GPA\"";
+
+    private NativeSmokeTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = freePort();
+        File log = new File(System.getProperty("java.io.tmpdir"), "native-smoke-test.log");
+        Process process = new ProcessBuilder(List.of(args[0],
+                "--server.port=" + port,
+                "--management.server.port=" + port,
+                "--management.endpoint.health.probes.enabled=true",
+                "--spring.datasource.url=jdbc:h2:mem:native-smoke;DB_CLOSE_DELAY=-1"))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log))
+                .start();
+        try {
+            VirtualUser user = new VirtualUser("http://localhost:" + port, true);
+            awaitStartup(process, user);
+
+            check("login", user.login() == 302);
+
+            HttpResponse<String> list = user.fetch("/students");
+            check("GET /students", list.statusCode() == 200 && list.body().contains("Student"));
+
+            HttpResponse<String> export = user.fetch("/students/export");
+            check("GET /students/export", export.statusCode() == 200 && export.body().startsWith(CSV_HEADER));
+
+            System.out.println("Native smoke test passed");
+        } catch (AssertionError | RuntimeException e) {
+            System.err.println(e.getMessage() + " (application log: " + log + ")");
+            System.exit(1);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitStartup(Process process, VirtualUser user) throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Native executable exited with " + process.exitValue());
+            }
+            try {
+                // Readiness flips only after the runners have created the default users
+                if (user.fetch("/actuator/health/readiness").statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notUpYet) {
+                // connection refused until Tomcat is listening
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Native executable did not start within " + TIMEOUT);
+    }
+
+    private static void check(String step, boolean passed) {
+        if (!passed) {
+            throw new AssertionError(step + " failed");
+        }
+        System.out.println("  ok  " + step);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
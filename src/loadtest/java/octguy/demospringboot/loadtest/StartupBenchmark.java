@@ -0,0 +1,98 @@
+package octguy.demospringboot.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Launches the extracted application repeatedly and measures the wall time from process start to
+ * the first successful {@code GET /login}, once as a plain {@code java -jar} start and once with the
+ * AppCDS archive, Spring AOT and the {@code faststart} profile.
+ * <p>
+ * Arguments: {@code <java executable> <extracted app dir> [runs]}.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = args[0];
+        Path appDir = Path.of(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        List<String> baseline = List.of(java, "-jar", "app.jar");
+        List<String> faststart = List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                "-jar", "app.jar", "--spring.profiles.active=faststart");
+
+        long baselineMillis = median(appDir, baseline, runs);
+        long faststartMillis = median(appDir, faststart, runs);
+
+        System.out.printf("%nTime to first request (median of %d runs)%n", runs);
+        System.out.printf("  java -jar                      %6d ms%n", baselineMillis);
+        System.out.printf("  CDS + AOT + lazy (faststart)   %6d ms  (%.0f%% faster)%n",
+                faststartMillis, 100.0 * (baselineMillis - faststartMillis) / baselineMillis);
+    }
+
+    private static long median(Path appDir, List<String> command, int runs) throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            samples.add(timeToFirstRequest(appDir, command));
+        }
+        Collections.sort(samples);
+        return samples.get(samples.size() / 2);
+    }
+
+    private static long timeToFirstRequest(Path appDir, List<String> command) throws Exception {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+        fullCommand.add("--management.server.port=-1");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+                .directory(appDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(System.getProperty("java.io.tmpdir"), "startup-benchmark.log")))
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (IOException notUpYet) {
+                    // connection refused until Tomcat is listening
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful request within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package octguy.demospringboot.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One logged-in browser session: its own cookie jar and CSRF token.
+ */
+final class VirtualUser {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+    private static final String BOUNDARY = "----loadtest-boundary";
+
+    private final String baseUrl;
+    private final boolean admin;
+    private final HttpClient client;
+    private volatile String csrfToken;
+
+    VirtualUser(String baseUrl, boolean admin) {
+        this.baseUrl = baseUrl;
+        this.admin = admin;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    boolean isAdmin() {
+        return admin;
+    }
+
+    /** Fetches the login form for its CSRF token and posts the credentials. Returns the status code. */
+    int login() throws IOException, InterruptedException {
+        HttpResponse<String> form = client.send(get("/login"), HttpResponse.BodyHandlers.ofString());
+        csrfToken = extractCsrf(form.body());
+        String credentials = admin ? "admin" : "user";
+        String body = "username=" + credentials + "&password=" + credentials + "&_csrf=" + csrfToken;
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        // The session id rotates on login; the list page carries the new CSRF token
+        HttpResponse<String> list = client.send(get("/students"), HttpResponse.BodyHandlers.ofString());
+        csrfToken = extractCsrf(list.body());
+        return response.statusCode();
+    }
+
+    int execute(Endpoint endpoint, SplittableRandom random, long maxStudentId) throws IOException, InterruptedException {
+        if (endpoint == Endpoint.LOGIN) {
+            return login();
+        }
+        if (endpoint == Endpoint.IMPORT) {
+            return client.send(importRequest(random), HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+        return client.send(get(endpoint.path(random, maxStudentId)), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Plain GET within this session, returning the body for content checks. */
+    HttpResponse<String> fetch(String path) throws IOException, InterruptedException {
+        return client.send(get(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest importRequest(SplittableRandom random) {
+        StringBuilder csv = new StringBuilder("Name,Email,Major,GPA\n");
+        String batch = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 5; i++) {
+            csv.append("Load Test ").append(i).append(',')
+                    .append("load.").append(batch).append('.').append(i).append("@loadtest.example.com,")
+                    .append("Physics,")
+                    .append(String.format("%.2f", random.nextDouble(2.0, 4.0))).append('\n');
+        }
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"_csrf\"\r\n\r\n" + csrfToken + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n" + csv + "\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+        return HttpRequest.newBuilder(URI.create(baseUrl + Endpoint.IMPORT.path(random, 0)))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static String extractCsrf(String html) {
+        Matcher matcher = CSRF.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No CSRF token found in page");
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,26 @@
+package octguy.demospringboot.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method behind {@link AdmissionInterceptor}: a per-user token bucket for the
+ * endpoint and the concurrency gate of its {@link CostClass}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Admission {
+
+    CostClass value();
+
+    /**
+     * Only requests carrying a non-blank value for one of these parameters are admitted through
+     * the gate; others pass untouched. A value of {@code false} counts as absent, so a boolean
+     * flag only applies when it is switched on. Empty means every request.
+     */
+    String[] whenParams() default {};
+}
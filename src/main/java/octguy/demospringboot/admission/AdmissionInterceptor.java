@@ -0,0 +1,167 @@
+package octguy.demospringboot.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for {@link Admission}-annotated handlers. A request first takes a token from
+ * the bucket of its user and endpoint ({@code 429} with {@code Retry-After} when empty), then a
+ * slot in the gate of its cost class ({@code 503} with {@code Retry-After} when the class is
+ * saturated and its queue is full or the wait times out). The slot is released when the request
+ * completes. Once more than {@code app.admission.max-tracked-users} buckets exist, idle ones are
+ * swept out at most once per {@value #SWEEP_INTERVAL_MILLIS} ms, so a crowd of users does not
+ * turn every request into a scan of the map.
+ */
+@Slf4j
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String SLOT = AdmissionInterceptor.class.getName() + ".SLOT";
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<CostClass, CostClassGate> gates = new EnumMap<>(CostClass.class);
+    private final Map<CostClass, Timer> waits = new EnumMap<>(CostClass.class);
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    public AdmissionInterceptor(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (CostClass cost : CostClass.values()) {
+            AdmissionProperties.Limits limits = limits(cost);
+            CostClassGate gate = new CostClassGate(limits.getMaxConcurrent(), limits.getMaxQueue(), limits.getQueueTimeout());
+            gates.put(cost, gate);
+            String tag = tag(cost);
+            Gauge.builder("admission.queue.depth", gate, CostClassGate::getWaiting)
+                    .description("Requests waiting for a slot in their cost class")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("admission.active", gate, CostClassGate::getActive)
+                    .description("Requests holding a slot in their cost class")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            waits.put(cost, Timer.builder("admission.wait")
+                    .description("Time spent waiting for a slot")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Admission admission = handlerMethod.getMethodAnnotation(Admission.class);
+        if (admission == null || !applies(admission, request)) {
+            return true;
+        }
+
+        CostClass cost = admission.value();
+        AdmissionProperties.Limits limits = limits(cost);
+        String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        Principal principal = request.getUserPrincipal();
+        String user = principal != null ? principal.getName() : request.getRemoteAddr();
+
+        long now = System.nanoTime();
+        long retryIn = buckets.computeIfAbsent(user + " " + endpoint,
+                key -> new TokenBucket(limits.getBurst(), limits.getPerMinute(), now)).tryTake(now);
+        sweepIdleBuckets(now);
+        if (retryIn > 0) {
+            log.debug("Rate limited {} on {}", user, endpoint);
+            return reject(response, cost, "rate_limited", HttpStatus.TOO_MANY_REQUESTS, retryIn);
+        }
+
+        CostClassGate gate = gates.get(cost);
+        boolean entered;
+        try {
+            entered = gate.enter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        waits.get(cost).record(System.nanoTime() - now, TimeUnit.NANOSECONDS);
+        if (!entered) {
+            log.debug("Rejected {} on {}: {} class saturated", user, endpoint, tag(cost));
+            return reject(response, cost, "overloaded", HttpStatus.SERVICE_UNAVAILABLE, gate.getQueueTimeout().toNanos());
+        }
+        request.setAttribute(SLOT, gate);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SLOT) instanceof CostClassGate gate) {
+            request.removeAttribute(SLOT);
+            gate.release();
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely once the map is over its limit. Only the thread
+     * that wins the race for the next sweep slot does the scan; everyone else moves on.
+     */
+    private void sweepIdleBuckets(long now) {
+        long due = nextSweep.get();
+        if (buckets.size() <= properties.getMaxTrackedUsers() || now - due < 0
+                || !nextSweep.compareAndSet(due, now + TimeUnit.MILLISECONDS.toNanos(SWEEP_INTERVAL_MILLIS))) {
+            return;
+        }
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Swept {} idle token buckets, {} left", before - buckets.size(), buckets.size());
+    }
+
+    int getTrackedBuckets() {
+        return buckets.size();
+    }
+
+    private boolean reject(HttpServletResponse response, CostClass cost, String reason, HttpStatus status,
+                           long retryInNanos) throws IOException {
+        meterRegistry.counter("admission.rejected", "class", tag(cost), "reason", reason).increment();
+        long seconds = Math.max(1, (long) Math.ceil(Math.min(retryInNanos, TimeUnit.HOURS.toNanos(1)) / 1e9));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.sendError(status.value(), status == HttpStatus.TOO_MANY_REQUESTS
+                ? "Too many requests, retry in " + seconds + " s"
+                : "Server busy, retry in " + seconds + " s");
+        return false;
+    }
+
+    private AdmissionProperties.Limits limits(CostClass cost) {
+        return properties.getClasses().getOrDefault(cost, new AdmissionProperties.Limits());
+    }
+
+    private static boolean applies(Admission admission, HttpServletRequest request) {
+        if (admission.whenParams().length == 0) {
+            return true;
+        }
+        for (String param : admission.whenParams()) {
+            String value = request.getParameter(param);
+            if (value != null && !value.isBlank() && !value.strip().equalsIgnoreCase("false")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tag(CostClass cost) {
+        return cost.name().toLowerCase();
+    }
+}
@@ -0,0 +1,33 @@
+package octguy.demospringboot.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private int maxTrackedUsers = 10_000; // idle token buckets are dropped past this
+    private Map<CostClass, Limits> classes = new EnumMap<>(Map.of(
+            CostClass.BULK, new Limits(2, 2, Duration.ofSeconds(5), 3, 6),
+            CostClass.REPORT, new Limits(4, 16, Duration.ofSeconds(2), 10, 60),
+            CostClass.QUERY, new Limits(8, 32, Duration.ofSeconds(1), 20, 120)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limits {
+        private int maxConcurrent = 4;
+        private int maxQueue = 8; // requests waiting for a slot; more are rejected with 503
+        private Duration queueTimeout = Duration.ofSeconds(1);
+        private int burst = 10; // token bucket capacity per user and endpoint
+        private int perMinute = 60; // token refill rate; beyond it requests get 429
+    }
+}
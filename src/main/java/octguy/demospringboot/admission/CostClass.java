@@ -0,0 +1,12 @@
+package octguy.demospringboot.admission;
+
+/**
+ * How expensive an endpoint is to serve. Each class has its own concurrency limit, wait queue and
+ * per-user rate ({@code app.admission.classes.*}), so a pile-up in one class cannot take the
+ * threads and connections that cheap pages need.
+ */
+public enum CostClass {
+    BULK,   // CSV import and export: whole-table reads or writes
+    REPORT, // dashboard: aggregates over all students
+    QUERY   // filtered student lists, which scan the table
+}
@@ -0,0 +1,60 @@
+package octguy.demospringboot.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * At most {@code maxConcurrent} requests of one cost class run at a time; up to {@code maxQueue}
+ * more wait, each for at most {@code queueTimeout}. Anything beyond that is turned away at once.
+ */
+public final class CostClassGate {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public CostClassGate(int maxConcurrent, int maxQueue, Duration queueTimeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /**
+     * Returns whether a slot was obtained; the caller must {@link #release()} it.
+     */
+    public boolean enter() throws InterruptedException {
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) { // unlike tryAcquire(), does not overtake waiters
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public Duration getQueueTimeout() {
+        return Duration.ofNanos(queueTimeoutNanos);
+    }
+}
@@ -0,0 +1,47 @@
+package octguy.demospringboot.admission;
+
+/**
+ * A token bucket holding up to {@code capacity} tokens, refilled continuously at
+ * {@code tokensPerMinute}. Times are {@link System#nanoTime()} values passed in by the caller.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long updatedAt;
+
+    public TokenBucket(int capacity, int tokensPerMinute, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerMinute / 60e9;
+        this.tokens = capacity;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Takes a token; returns 0 on success, otherwise the nanoseconds until one is available.
+     */
+    public synchronized long tryTake(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return tokensPerNano == 0 ? Long.MAX_VALUE : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Whether the bucket has been refilled completely, i.e. its owner has been idle.
+     */
+    public synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        if (now > updatedAt) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+            updatedAt = now;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package octguy.demospringboot.analytics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.GpaDistribution;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import octguy.demospringboot.model.Student;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One {@link GpaSketch} per major, filled by a single pass over the table once the application is
+ * ready and then kept current from committed {@link StudentChangedEvent}s. Distributions for any
+ * combination of majors are merged from the per-major sketches without touching the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GpaDistributionService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, GpaSketch> sketches = new HashMap<>();
+
+    @EventListener({ApplicationReadyEvent.class, StudentsResyncEvent.class})
+    public void load() {
+        // held across the scan so a change committing meanwhile is applied after it, not overwritten by it
+        synchronized (sketches) {
+            sketches.clear();
+            jdbcTemplate.query("SELECT major, gpa FROM students", (RowCallbackHandler) rs ->
+                    sketches.computeIfAbsent(rs.getString("major"), major -> new GpaSketch()).add(rs.getDouble("gpa")));
+            log.info("GPA sketches loaded for {} majors", sketches.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        synchronized (sketches) {
+            switch (event.type()) {
+                case CREATED -> add(event.student());
+                case UPDATED -> {
+                    remove(event.previous());
+                    add(event.student());
+                }
+                case DELETED -> remove(event.student());
+            }
+        }
+    }
+
+    /**
+     * The distribution over the given majors, or over all students if {@code majors} is empty.
+     */
+    public GpaDistribution getDistribution(Collection<String> majors, double binWidth) {
+        GpaSketch merged = new GpaSketch();
+        synchronized (sketches) {
+            if (majors == null || majors.isEmpty()) {
+                sketches.values().forEach(merged::merge);
+            } else {
+                for (String major : majors) {
+                    GpaSketch sketch = sketches.get(major);
+                    if (sketch != null) {
+                        merged.merge(sketch);
+                    }
+                }
+            }
+        }
+        return toDistribution(merged, majors == null ? List.of() : List.copyOf(majors), binWidth);
+    }
+
+    /**
+     * One distribution per major, sorted by major name.
+     */
+    public Map<String, GpaDistribution> getDistributionsByMajor(double binWidth) {
+        Map<String, GpaSketch> copies = new TreeMap<>();
+        synchronized (sketches) {
+            sketches.forEach((major, sketch) -> copies.put(major, new GpaSketch().merge(sketch)));
+        }
+        Map<String, GpaDistribution> distributions = new TreeMap<>();
+        copies.forEach((major, sketch) -> distributions.put(major, toDistribution(sketch, List.of(major), binWidth)));
+        return distributions;
+    }
+
+    private void add(Student student) {
+        sketches.computeIfAbsent(student.getMajor(), major -> new GpaSketch()).add(student.getGpa());
+    }
+
+    private void remove(Student student) {
+        GpaSketch sketch = sketches.get(student.getMajor());
+        if (sketch == null) {
+            log.warn("No GPA sketch for major '{}' while removing student {}", student.getMajor(), student.getId());
+            return;
+        }
+        try {
+            sketch.remove(student.getGpa());
+        } catch (IllegalStateException e) {
+            log.warn("GPA sketch for major '{}' is out of step: {}", student.getMajor(), e.getMessage());
+        }
+        if (sketch.count() == 0) {
+            sketches.remove(student.getMajor());
+        }
+    }
+
+    private static GpaDistribution toDistribution(GpaSketch sketch, List<String> majors, double binWidth) {
+        return GpaDistribution.builder()
+                .majors(majors)
+                .count(sketch.count())
+                .mean(sketch.mean())
+                .median(sketch.quantile(0.5))
+                .p90(sketch.quantile(0.9))
+                .p99(sketch.quantile(0.99))
+                .bins(sketch.histogram(binWidth))
+                .build();
+    }
+}
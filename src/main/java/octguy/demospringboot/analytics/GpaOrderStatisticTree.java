@@ -0,0 +1,180 @@
+package octguy.demospringboot.analytics;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A size-augmented treap over {@code (gpa descending, id ascending)}, so position 0 is the best
+ * student and ties keep a stable order. Insert, remove, rank and select are O(log n) expected.
+ * <p>
+ * Not thread-safe; {@link StudentRankService} guards it.
+ */
+public final class GpaOrderStatisticTree {
+
+    private static final class Node {
+        final double gpa;
+        final long id;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(double gpa, long id) {
+            this.gpa = gpa;
+            this.id = id;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public void insert(double gpa, long id) {
+        Node[] parts = split(root, gpa, id);
+        root = merge(merge(parts[0], new Node(gpa, id)), parts[1]);
+    }
+
+    /**
+     * Removes the entry if present; returns whether it was.
+     */
+    public boolean remove(double gpa, long id) {
+        int before = size(root);
+        root = remove(root, gpa, id);
+        return size(root) < before;
+    }
+
+    /**
+     * Number of entries ordered before {@code (gpa, id)}, i.e. its 0-based position if present.
+     */
+    public int countBefore(double gpa, long id) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.gpa, node.id, gpa, id) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of entries with a GPA strictly above {@code gpa}.
+     */
+    public int countAbove(double gpa) {
+        return countBefore(gpa, Long.MIN_VALUE);
+    }
+
+    /**
+     * Number of entries with a GPA strictly below {@code gpa}.
+     */
+    public int countBelow(double gpa) {
+        return size(root) - countBefore(gpa, Long.MAX_VALUE);
+    }
+
+    /**
+     * Ids at positions {@code [from, from + count)}, clipped to the tree size.
+     */
+    public long[] select(int from, int count) {
+        int end = Math.min(size(root), from + count);
+        long[] ids = new long[Math.max(0, end - from)];
+        for (int position = from; position < end; position++) {
+            ids[position - from] = select(position).id;
+        }
+        return ids;
+    }
+
+    /**
+     * The GPA at {@code position}.
+     */
+    public double gpaAt(int position) {
+        return select(position).gpa;
+    }
+
+    private Node select(int position) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static int compare(double gpa, long id, double otherGpa, long otherId) {
+        int byGpa = Double.compare(otherGpa, gpa); // descending
+        return byGpa != 0 ? byGpa : Long.compare(id, otherId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    /**
+     * Splits into entries ordered before {@code (gpa, id)} and the rest.
+     */
+    private static Node[] split(Node node, double gpa, long id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node.gpa, node.id, gpa, id) < 0) {
+            Node[] parts = split(node.right, gpa, id);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, gpa, id);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node remove(Node node, double gpa, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(gpa, id, node.gpa, node.id);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, gpa, id);
+        } else {
+            node.right = remove(node.right, gpa, id);
+        }
+        return update(node);
+    }
+}
@@ -0,0 +1,104 @@
+package octguy.demospringboot.analytics;
+
+import octguy.demospringboot.dto.GpaDistribution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mergeable quantile sketch over the bounded GPA domain: one counter per hundredth of a point
+ * from 0.00 to 4.00. Unlike KLL or t-digest sketches it supports removals, so updates and deletes
+ * can be applied exactly, and merging is element-wise addition. Quantiles are exact at 0.01
+ * resolution (values with more decimals are rounded to the nearest hundredth).
+ * <p>
+ * Not thread-safe; {@link GpaDistributionService} guards its sketches.
+ */
+public final class GpaSketch {
+
+    static final int RESOLUTION = 100; // buckets per GPA point
+    static final int BUCKETS = 4 * RESOLUTION + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private double sum;
+
+    public void add(double gpa) {
+        counts[bucket(gpa)]++;
+        count++;
+        sum += gpa;
+    }
+
+    public void remove(double gpa) {
+        int bucket = bucket(gpa);
+        if (counts[bucket] == 0) {
+            throw new IllegalStateException("GPA " + gpa + " is not in the sketch");
+        }
+        counts[bucket]--;
+        count--;
+        sum -= gpa;
+    }
+
+    /**
+     * Adds every value of {@code other} into this sketch.
+     */
+    public GpaSketch merge(GpaSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Nearest-rank quantile, or {@code null} if the sketch is empty.
+     */
+    public Double quantile(double q) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (double) i / RESOLUTION;
+            }
+        }
+        return 4.0;
+    }
+
+    /**
+     * Counts per bin of {@code binWidth} points (a multiple of 0.01) starting at 0.0; 4.0 falls
+     * into the last bin.
+     */
+    public List<GpaDistribution.Bin> histogram(double binWidth) {
+        int width = (int) Math.round(binWidth * RESOLUTION);
+        if (width <= 0 || width > BUCKETS - 1 || Math.abs(width - binWidth * RESOLUTION) > 1e-6) {
+            throw new IllegalArgumentException("Bin width must be a multiple of 0.01 between 0.01 and 4.0: " + binWidth);
+        }
+        int binCount = (BUCKETS - 1 + width - 1) / width;
+        long[] binCounts = new long[binCount];
+        for (int i = 0; i < BUCKETS; i++) {
+            binCounts[Math.min(i / width, binCount - 1)] += counts[i];
+        }
+        List<GpaDistribution.Bin> bins = new ArrayList<>(binCount);
+        for (int bin = 0; bin < binCount; bin++) {
+            bins.add(new GpaDistribution.Bin((double) bin * width / RESOLUTION,
+                    Math.min(4.0, (double) (bin + 1) * width / RESOLUTION), binCounts[bin]));
+        }
+        return bins;
+    }
+
+    private static int bucket(double gpa) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.round(gpa * RESOLUTION)));
+    }
+}
@@ -0,0 +1,151 @@
+package octguy.demospringboot.analytics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.StudentRank;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.StudentRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GPA rank and percentile lookups from a {@link GpaOrderStatisticTree}, loaded in one pass once
+ * the application is ready and kept current from the {@link StudentChangedEvent}s published by
+ * the {@code StudentService} write paths.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentRankService {
+
+    public static final int MAX_PAGE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentRepository studentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final GpaOrderStatisticTree tree = new GpaOrderStatisticTree();
+    private final Map<Long, Double> gpaById = new HashMap<>();
+
+    @EventListener({ApplicationReadyEvent.class, StudentsResyncEvent.class})
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            tree.clear();
+            gpaById.clear();
+            jdbcTemplate.query("SELECT id, gpa FROM students", (RowCallbackHandler) rs ->
+                    put(rs.getLong("id"), rs.getDouble("gpa")));
+            log.info("GPA rank index loaded with {} students", tree.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == StudentChangedEvent.Type.DELETED) {
+                Double gpa = gpaById.remove(event.id());
+                if (gpa != null) {
+                    tree.remove(gpa, event.id());
+                }
+            } else {
+                put(event.id(), event.student().getGpa());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The student's rank, or empty if the student is not indexed.
+     */
+    public Optional<StudentRank> getRank(Student student) {
+        lock.readLock().lock();
+        try {
+            Double gpa = gpaById.get(student.getId());
+            if (gpa == null) {
+                return Optional.empty();
+            }
+            return Optional.of(rank(student, gpa, tree.countBefore(gpa, student.getId())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students at 1-based positions {@code [from, from + count)} in GPA order, at most
+     * {@value #MAX_PAGE} of them.
+     */
+    public List<StudentRank> getRanking(int from, int count) {
+        if (from < 1 || count < 1) {
+            throw new IllegalArgumentException("Ranking positions start at 1 and count must be positive");
+        }
+        long[] ids;
+        int first = from - 1;
+        lock.readLock().lock();
+        try {
+            ids = tree.select(first, Math.min(count, MAX_PAGE));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Student> students = studentRepository.findAllById(idList).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        List<StudentRank> ranking = new ArrayList<>(ids.length);
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < ids.length; i++) {
+                Student student = students.get(ids[i]);
+                Double gpa = gpaById.get(ids[i]);
+                if (student != null && gpa != null) {
+                    ranking.add(rank(student, gpa, first + i));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ranking;
+    }
+
+    private StudentRank rank(Student student, double gpa, int position) {
+        int total = tree.size();
+        return StudentRank.builder()
+                .rank(tree.countAbove(gpa) + 1L)
+                .position(position + 1L)
+                .total(total)
+                .percentile(total == 0 ? 0.0 : 100.0 * tree.countBelow(gpa) / total)
+                .student(student)
+                .build();
+    }
+
+    private void put(long id, double gpa) {
+        Double previous = gpaById.put(id, gpa);
+        if (previous != null) {
+            tree.remove(previous, id);
+        }
+        tree.insert(gpa, id);
+    }
+}
@@ -0,0 +1,20 @@
+package octguy.demospringboot.archive;
+
+import lombok.Data;
+import octguy.demospringboot.model.StudentStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+    private boolean enabled = true; // run StudentArchiveJob
+    private Set<StudentStatus> statuses = EnumSet.of(StudentStatus.GRADUATED, StudentStatus.INACTIVE);
+    private Duration after = Duration.ofDays(180); // time since the last change before a student is archived
+    private Duration interval = Duration.ofHours(1);
+    private int batchSize = 200; // students moved per transaction
+    private int maxBatchesPerRun = 50;
+}
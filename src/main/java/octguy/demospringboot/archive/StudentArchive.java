@@ -0,0 +1,153 @@
+package octguy.demospringboot.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.delta.StudentDeltaExport;
+import octguy.demospringboot.dto.ArchiveSummary;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.exception.DuplicateEmailException;
+import octguy.demospringboot.exception.StudentNotFoundException;
+import octguy.demospringboot.model.ArchivedStudent;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.model.StudentStatus;
+import octguy.demospringboot.outbox.StudentOutbox;
+import octguy.demospringboot.repository.ArchivedStudentRepository;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.service.MajorStatsService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * The {@code students_archive} table, which keeps {@code students} down to the rows that list,
+ * search and dashboard queries actually show. Deleting a student moves it here as
+ * {@code deleted}; {@link StudentArchiveJob} moves students whose status is one of
+ * {@code app.archive.statuses} once {@code app.archive.after} has passed since their last change.
+ * <p>
+ * A move is a handful of set-based statements however many students it covers: the rows are
+ * copied, removed from {@code students}, and their removal is recorded in {@code major_stats},
+ * the delta export tombstones and the outbox from the archived copies. To everything derived
+ * from {@code students} it is a delete, and {@link #restore} is a create under the original id.
+ */
+@Service
+@EnableConfigurationProperties(ArchiveProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class StudentArchive {
+
+    private final StudentRepository studentRepository;
+    private final ArchivedStudentRepository archivedStudentRepository;
+    private final MajorStatsService majorStatsService;
+    private final StudentDeltaExport studentDeltaExport;
+    private final StudentOutbox studentOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Moves {@code students}, loaded in the current transaction, to the archive.
+     *
+     * @param deleted whether they are being deleted rather than archived by status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveToArchive(List<Student> students, boolean deleted) {
+        if (students.isEmpty()) {
+            return;
+        }
+        List<Long> ids = students.stream().map(Student::getId).toList();
+        archivedStudentRepository.copyFromStudents(ids, deleted, clock.instant());
+        studentRepository.deleteAllByIdInBatch(ids);
+        majorStatsService.recordArchived(ids);
+        studentDeltaExport.recordArchived(ids);
+        studentOutbox.appendArchived(ids);
+        for (Student student : students) {
+            eventPublisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.DELETED, student));
+        }
+    }
+
+    /**
+     * Moves up to {@code app.archive.batch-size} of the students due for archiving, oldest change
+     * first, and returns how many were moved.
+     */
+    @Transactional
+    public int archiveBatch() {
+        if (properties.getStatuses().isEmpty()) {
+            return 0;
+        }
+        Instant cutoff = clock.instant().minus(properties.getAfter());
+        List<Student> batch = studentRepository.findArchivable(properties.getStatuses(), cutoff,
+                PageRequest.ofSize(properties.getBatchSize()));
+        moveToArchive(batch, false);
+        log.debug("Archived {} students unchanged since {}", batch.size(), cutoff);
+        return batch.size();
+    }
+
+    /**
+     * Moves an archived student back into {@code students} as {@link StudentStatus#ACTIVE}.
+     *
+     * @throws StudentNotFoundException if no archived student has that id
+     * @throws DuplicateEmailException  if a current student has taken the email address since
+     */
+    @Transactional
+    public Student restore(long id) {
+        ArchivedStudent archived = archivedStudentRepository.findById(id)
+                .orElseThrow(() -> new StudentNotFoundException("Archived student not found with id: " + id));
+        if (studentRepository.existsByEmail(archived.getEmail())) {
+            throw new DuplicateEmailException("Student with email " + archived.getEmail() + " already exists");
+        }
+
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        archivedStudentRepository.copyToStudents(id, now);
+        archivedStudentRepository.delete(archived);
+        Student student = Student.builder()
+                .id(archived.getId())
+                .name(archived.getName())
+                .email(archived.getEmail())
+                .major(archived.getMajor())
+                .gpa(archived.getGpa())
+                .status(StudentStatus.ACTIVE)
+                .createdAt(archived.getCreatedAt())
+                .updatedAt(now)
+                .build();
+        majorStatsService.recordAdded(student);
+        studentDeltaExport.recordRestored(id);
+        StudentChangedEvent event = StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, student);
+        studentOutbox.append(event);
+        eventPublisher.publishEvent(event);
+        log.info("Student restored from the archive with id: {}", id);
+        return student;
+    }
+
+    /**
+     * Archived students matching the same criteria as {@code StudentService.filterStudents}; blank
+     * criteria match everything.
+     */
+    @Transactional(readOnly = true)
+    public Page<ArchivedStudent> search(String keyword, String major, Double minGpa, Double maxGpa,
+                                        int page, int size, String sortBy) {
+        return archivedStudentRepository.search(blankToNull(keyword), blankToNull(major), minGpa, maxGpa,
+                PageRequest.of(page, size, Sort.by(sortBy)));
+    }
+
+    @Transactional(readOnly = true)
+    public ArchiveSummary getSummary() {
+        return ArchiveSummary.builder()
+                .archivedStudents(archivedStudentRepository.count())
+                .deletedStudents(archivedStudentRepository.countByDeletedTrue())
+                .build();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
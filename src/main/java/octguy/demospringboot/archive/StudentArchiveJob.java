@@ -0,0 +1,49 @@
+package octguy.demospringboot.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves students due for archiving in {@code app.archive.batch-size} transactions, each holding
+ * its row locks only for one batch, until none are left or {@code app.archive.max-batches-per-run}
+ * is reached; the rest wait for the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StudentArchiveJob {
+
+    private final StudentArchive studentArchive;
+    private final ArchiveProperties properties;
+    private final Counter archived;
+
+    public StudentArchiveJob(StudentArchive studentArchive, ArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.studentArchive = studentArchive;
+        this.properties = properties;
+        this.archived = Counter.builder("student.archive.moved")
+                .description("Students moved to the archive by status")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.interval:PT1H}")
+    public int run() {
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int moved = studentArchive.archiveBatch();
+            total += moved;
+            archived.increment(moved);
+            if (moved < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} students with status in {} unchanged for {}", total,
+                    properties.getStatuses(), properties.getAfter());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,132 @@
+package octguy.demospringboot.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import octguy.demospringboot.model.OutboxEntry;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.outbox.OutboxDispatcher;
+import octguy.demospringboot.outbox.OutboxProperties;
+import octguy.demospringboot.outbox.OutboxSubscriber;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps this node's in-process student structures (typeahead, GPA rank and distribution,
+ * analytics snapshot) in step with writes made on other nodes sharing the database.
+ * <p>
+ * The shared {@code student_outbox} table is the change log: every node's {@link OutboxDispatcher}
+ * polls it past its own high-water mark, and entries that originated elsewhere are replayed here
+ * as local {@link StudentChangedEvent}s, so the structures apply them exactly like their own
+ * writes. A remote write is therefore visible within {@code app.outbox.poll-interval} plus, when
+ * a concurrent transaction holds back a sequence, {@code app.outbox.gap-timeout}; a node that
+ * falls further behind than {@code app.cluster.max-staleness} reports itself out of service
+ * (see {@link ClusterHealthIndicator}). A full reload every {@code app.cluster.resync-interval}
+ * covers rows written around {@code StudentService}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterProperties.class)
+@Slf4j
+public class ClusterCoherence implements OutboxSubscriber {
+
+    private final String nodeId;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxDispatcher dispatcher;
+    private final Timer lag;
+    private final Counter applied;
+
+    public ClusterCoherence(OutboxProperties outboxProperties, ClusterProperties properties,
+                            ApplicationEventPublisher eventPublisher, OutboxDispatcher dispatcher,
+                            MeterRegistry meterRegistry) {
+        this.nodeId = outboxProperties.getNodeId();
+        this.eventPublisher = eventPublisher;
+        this.dispatcher = dispatcher;
+        this.lag = Timer.builder("cluster.invalidation.lag")
+                .description("Time from a write on another node to its application on this one")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.applied = Counter.builder("cluster.invalidations")
+                .description("Changes from other nodes applied to this node's structures")
+                .register(meterRegistry);
+        Gauge.builder("cluster.staleness", this, coherence -> coherence.staleness().toMillis() / 1000.0)
+                .description("Seconds since this node last caught up with the shared change log")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Duration bound = outboxProperties.getPollInterval().plus(outboxProperties.getGapTimeout());
+        if (properties.getMaxStaleness().compareTo(bound) <= 0) {
+            log.warn("app.cluster.max-staleness ({}) should exceed poll interval plus gap timeout ({})",
+                    properties.getMaxStaleness(), bound);
+        }
+        log.info("Cluster coherence enabled for node {}", nodeId);
+    }
+
+    @Override
+    public void onBatch(List<OutboxEntry> batch) {
+        for (OutboxEntry entry : batch) {
+            if (nodeId.equals(entry.getOrigin())) {
+                continue; // applied locally when it committed
+            }
+            eventPublisher.publishEvent(toEvent(entry));
+            lag.record(Duration.between(entry.getCreatedAt(), Instant.now()));
+            applied.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.resync-interval:PT30M}",
+            initialDelayString = "${app.cluster.resync-interval:PT30M}")
+    public void resync() {
+        log.info("Reloading in-process student structures (node {})", nodeId);
+        eventPublisher.publishEvent(new StudentsResyncEvent("scheduled cluster resync"));
+    }
+
+    /**
+     * How far this node may be behind the shared change log.
+     */
+    public Duration staleness() {
+        return Duration.between(dispatcher.getLastPolled(), Instant.now());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getPosition() {
+        return dispatcher.getPosition();
+    }
+
+    static StudentChangedEvent toEvent(OutboxEntry entry) {
+        Student student = Student.builder()
+                .id(entry.getStudentId())
+                .name(entry.getName())
+                .email(entry.getEmail())
+                .major(entry.getMajor())
+                .gpa(entry.getGpa())
+                .status(entry.getStatus())
+                .build();
+        if (entry.getOperation() != StudentChangedEvent.Type.UPDATED) {
+            return new StudentChangedEvent(entry.getOperation(), student, null);
+        }
+        Student previous = Student.builder()
+                .id(entry.getStudentId())
+                .name(entry.getPreviousName())
+                .email(entry.getPreviousEmail())
+                .major(entry.getPreviousMajor())
+                .gpa(entry.getPreviousGpa())
+                .status(entry.getPreviousStatus())
+                .build();
+        return new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, student, previous);
+    }
+}
@@ -0,0 +1,35 @@
+package octguy.demospringboot.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} once this node is more than {@code app.cluster.max-staleness}
+ * behind the shared change log, so the load balancer stops routing to it until it catches up.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ClusterHealthIndicator implements HealthIndicator {
+
+    private final ClusterCoherence coherence;
+    private final ClusterProperties properties;
+
+    @Override
+    public Health health() {
+        Duration staleness = coherence.staleness();
+        Health.Builder health = staleness.compareTo(properties.getMaxStaleness()) > 0
+                ? Health.outOfService() : Health.up();
+        return health
+                .withDetail("nodeId", coherence.getNodeId())
+                .withDetail("position", coherence.getPosition())
+                .withDetail("staleness", staleness.toString())
+                .withDetail("maxStaleness", properties.getMaxStaleness().toString())
+                .build();
+    }
+}
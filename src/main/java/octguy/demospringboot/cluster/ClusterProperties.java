@@ -0,0 +1,14 @@
+package octguy.demospringboot.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.cluster")
+public class ClusterProperties {
+    private boolean enabled = false;
+    private Duration maxStaleness = Duration.ofSeconds(10); // health goes OUT_OF_SERVICE past this
+    private Duration resyncInterval = Duration.ofMinutes(30); // full reload of the in-process structures
+}
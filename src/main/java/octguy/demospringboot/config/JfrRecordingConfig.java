@@ -0,0 +1,53 @@
+package octguy.demospringboot.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts a continuous in-process flight recording with the JDK {@code default} settings plus the
+ * application's {@code jfr/student-operations.jfc} profile, dumped to disk on exit. For ad hoc
+ * captures on a running node, use {@code jcmd <pid> JFR.start settings=default settings=<jfc>} instead.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "app.jfr.recording.enabled", havingValue = "true")
+@Slf4j
+public class JfrRecordingConfig {
+
+    static final String SETTINGS_PROFILE = "jfr/student-operations.jfc";
+
+    @Bean(destroyMethod = "close")
+    public Recording studentOperationsRecording(
+            @Value("${app.jfr.recording.max-age:6h}") Duration maxAge,
+            @Value("${app.jfr.recording.destination:student-operations.jfr}") Path destination)
+            throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStreamReader reader = new InputStreamReader(
+                new ClassPathResource(SETTINGS_PROFILE).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        Recording recording = new Recording(settings);
+        recording.setName("student-operations");
+        recording.setMaxAge(maxAge);
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        recording.start();
+        log.info("JFR recording started with {} (dump on exit: {})", SETTINGS_PROFILE, destination.toAbsolutePath());
+        return recording;
+    }
+}
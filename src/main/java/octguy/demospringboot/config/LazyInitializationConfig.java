@@ -0,0 +1,19 @@
+package octguy.demospringboot.config;
+
+import jdk.jfr.Recording;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that must still start eagerly when {@code spring.main.lazy-initialization} is on,
+ * because nothing else ever asks for them.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(PinnedThreadMonitor.class, Recording.class);
+    }
+}
@@ -0,0 +1,78 @@
+package octguy.demospringboot.config;
+
+import octguy.demospringboot.dto.ArchiveSummary;
+import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.dto.GpaDistribution;
+import octguy.demospringboot.dto.ImportResult;
+import octguy.demospringboot.dto.StudentRank;
+import octguy.demospringboot.dto.MajorSummary;
+import octguy.demospringboot.dto.OutboxBatch;
+import octguy.demospringboot.dto.StudentDelta;
+import octguy.demospringboot.dto.Suggestions;
+import octguy.demospringboot.jfr.DashboardStatsEvent;
+import octguy.demospringboot.jfr.StudentExportEvent;
+import octguy.demospringboot.jfr.StudentFilterEvent;
+import octguy.demospringboot.jfr.StudentImportEvent;
+import octguy.demospringboot.jfr.StudentSearchEvent;
+import octguy.demospringboot.model.ArchivedStudent;
+import octguy.demospringboot.model.OutboxEntry;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+/**
+ * Reflection, proxy and resource hints for the GraalVM native image. Spring Boot covers the
+ * framework itself; these are the pieces it cannot infer from the bean graph.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.StudentRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class StudentRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final TypeReference DATASOURCE_PROXY_OBJECT =
+                TypeReference.of("net.ttddyy.dsproxy.proxy.ProxyJdbcObject");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Thymeleaf templates and SpEL property access on the view models
+            hints.resources().registerPattern("templates/**");
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    Student.class, User.class, DashboardStats.class, ImportResult.class, GpaDistribution.class,
+                    GpaDistribution.Bin.class, StudentRank.class, Suggestions.class,
+                    MajorSummary.class, OutboxBatch.class, OutboxEntry.class, StudentDelta.class,
+                    ArchivedStudent.class, ArchiveSummary.class);
+
+            // OpenCSV error messages
+            hints.resources().registerResourceBundle("opencsv");
+
+            // Custom JFR events and their settings profile
+            hints.resources().registerPattern(JfrRecordingConfig.SETTINGS_PROFILE);
+            for (Class<?> event : new Class<?>[]{StudentImportEvent.class, StudentExportEvent.class,
+                    DashboardStatsEvent.class, StudentFilterEvent.class, StudentSearchEvent.class}) {
+                hints.reflection().registerType(event, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            // JDBC proxies from the connection limiter and datasource-proxy
+            hints.proxies().registerJdkProxy(Connection.class);
+            for (Class<?> jdbcType : new Class<?>[]{DataSource.class, Connection.class, Statement.class,
+                    PreparedStatement.class, CallableStatement.class, ResultSet.class}) {
+                hints.proxies().registerJdkProxy(DATASOURCE_PROXY_OBJECT, TypeReference.of(jdbcType));
+            }
+        }
+    }
+}
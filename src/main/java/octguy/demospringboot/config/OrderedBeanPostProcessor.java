@@ -0,0 +1,11 @@
+package octguy.demospringboot.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * Lets a post-processor be declared as an anonymous class and still run in a fixed order; Spring
+ * ignores {@code @Order} on post-processor bean methods.
+ */
+interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+}
@@ -0,0 +1,69 @@
+package octguy.demospringboot.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import octguy.demospringboot.jdbc.QueryBudgetFilter;
+import octguy.demospringboot.jdbc.QueryBudgetListener;
+import octguy.demospringboot.jdbc.QueryBudgetProperties;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in a datasource-proxy that counts statements per request and per
+ * transaction against the {@code app.query-budget.*} budgets.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static QueryBudgetProperties queryBudgetProperties(Environment environment) {
+        return Binder.get(environment).bind("app.query-budget", QueryBudgetProperties.class)
+                .orElseGet(QueryBudgetProperties::new);
+    }
+
+    /**
+     * After {@link VirtualThreadConfig#CONNECTION_LIMIT_ORDER}: the proxy is the outermost wrapper,
+     * so statements are counted before a thread waits for a connection permit.
+     */
+    public static final int QUERY_BUDGET_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    @Bean
+    static BeanPostProcessor queryBudgetDataSourcePostProcessor(QueryBudgetProperties properties) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new QueryBudgetListener(properties))
+                        .build();
+            }
+
+            @Override
+            public int getOrder() {
+                return QUERY_BUDGET_ORDER;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(new QueryBudgetFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
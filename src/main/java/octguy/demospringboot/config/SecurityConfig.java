@@ -2,10 +2,12 @@ package octguy.demospringboot.config;
 
 import lombok.RequiredArgsConstructor;
 import octguy.demospringboot.service.CustomUserDetailsService;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,10 +29,12 @@ public class SecurityConfig {
         http
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/h2-console/**").permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
                 .requestMatchers("/", "/home", "/dashboard").authenticated()
-                .requestMatchers("/students/new", "/students/edit/**", "/students/delete/**", "/students/import", "/students/export").hasRole("ADMIN")
+                .requestMatchers("/students/new", "/students/edit/**", "/students/delete/**", "/students/import", "/students/export", "/students/archive/**").hasRole("ADMIN")
                 .requestMatchers("/students/**").hasAnyRole("ADMIN", "USER")
+                .requestMatchers("/api/outbox/**", "/api/students/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -40,11 +44,12 @@ public class SecurityConfig {
                 .failureUrl("/login?error=true")
                 .permitAll()
             )
+            .httpBasic(Customizer.withDefaults()) // for nodes polling /api/outbox
             .logout(logout -> logout
                 .logoutUrl("/logout")
                 .logoutSuccessUrl("/login?logout=true")
                 .invalidateHttpSession(true)
-                .deleteCookies("JSESSIONID")
+                .deleteCookies("SESSION")
                 .permitAll()
             )
             .csrf(csrf -> csrf
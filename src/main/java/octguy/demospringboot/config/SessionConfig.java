@@ -0,0 +1,50 @@
+package octguy.demospringboot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import octguy.demospringboot.session.CachingSessionRepository;
+import octguy.demospringboot.session.SessionCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.FlushMode;
+import org.springframework.session.SaveMode;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+
+import java.time.Duration;
+
+/**
+ * HTTP sessions live in the shared {@code SPRING_SESSION} tables (created by the Flyway
+ * migration) instead of the servlet container, so any node can serve any request. Only
+ * attributes set during a request are written back, expired sessions are deleted in one
+ * statement every five minutes, and recently used sessions are kept in a short-lived local cache.
+ */
+@Configuration
+@EnableJdbcHttpSession(flushMode = FlushMode.ON_SAVE, saveMode = SaveMode.ON_SET_ATTRIBUTE,
+        cleanupCron = "0 */5 * * * *")
+@EnableConfigurationProperties(SessionCacheProperties.class)
+public class SessionConfig {
+
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessionTimeoutCustomizer(ServerProperties serverProperties) {
+        Duration timeout = serverProperties.getServlet().getSession().getTimeout();
+        return repository -> repository.setDefaultMaxInactiveInterval(timeout != null ? timeout : Duration.ofMinutes(30));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.session.cache.enabled", havingValue = "true", matchIfMissing = true)
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public CachingSessionRepository<?> cachingSessionRepository(JdbcIndexedSessionRepository sessionRepository,
+                                                               SessionCacheProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        // JdbcIndexedSessionRepository's session type is package-private, hence the raw type
+        return new CachingSessionRepository((FindByIndexNameSessionRepository) sessionRepository,
+                properties.getTtl(), properties.getMaxSize(), meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package octguy.demospringboot.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.service.SyntheticDataService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the students table with synthetic data when the {@code synthetic} profile is active.
+ * Runs before {@link DataLoader}, which then finds the table populated and skips its samples.
+ */
+@Component
+@Profile("synthetic")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    private final SyntheticDataProperties properties;
+    private final SyntheticDataService syntheticDataService;
+    private final StudentRepository studentRepository;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (studentRepository.count() == 0) {
+            log.info("Generating {} synthetic students (seed: {}, threads: {}, batch size: {})",
+                    properties.getStudents(), properties.getSeed(), properties.getThreads(), properties.getBatchSize());
+            syntheticDataService.insertStudents(properties.getSeed(), 0, properties.getStudents(),
+                    properties.getThreads(), properties.getBatchSize());
+        }
+        if (properties.getCsvOutput() != null) {
+            syntheticDataService.writeCsv(properties.getCsvOutput(), properties.getSeed(),
+                    properties.getStudents(), properties.getCsvRows());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package octguy.demospringboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "app.synthetic")
+public class SyntheticDataProperties {
+    private long students = 1_000_000;
+    private long seed = 42;
+    private int threads = Math.min(8, Runtime.getRuntime().availableProcessors());
+    private int batchSize = 5_000;
+    private Path csvOutput; // optional import file, generated from the indexes after the seeded rows
+    private long csvRows = 10_000;
+}
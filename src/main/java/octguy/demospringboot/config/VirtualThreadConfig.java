@@ -0,0 +1,96 @@
+package octguy.demospringboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.jdbc.ConnectionLimitingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Extra guardrails for the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true},
+ * see the {@code vthreads} profile). Spring Boot already moves Tomcat request handling and the
+ * {@code @Async} executor onto virtual threads; this adds a permit limiter in front of the
+ * connection pool and a monitor for pinned carrier threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Runs before {@link QueryBudgetConfig}'s post-processor, so the limiter sits directly on the
+     * pool and the statement-counting proxy wraps it.
+     */
+    public static final int CONNECTION_LIMIT_ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || unwrap(dataSource, ConnectionLimitingDataSource.class).isPresent()
+                        || !environment.getProperty("app.virtual-threads.connection-limit.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                int poolSize = unwrap(dataSource, HikariDataSource.class).map(HikariDataSource::getMaximumPoolSize).orElse(10);
+                int permits = environment.getProperty("app.virtual-threads.connection-limit.permits", Integer.class, poolSize);
+                Duration timeout = environment.getProperty("app.virtual-threads.connection-limit.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(30));
+                log.info("Limiting concurrent connection use on '{}' to {} permits (acquire timeout: {})",
+                        beanName, permits, timeout);
+                return new ConnectionLimitingDataSource(dataSource, permits, timeout);
+            }
+
+            @Override
+            public int getOrder() {
+                return CONNECTION_LIMIT_ORDER;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .flatMap(dataSource -> unwrap(dataSource, ConnectionLimitingDataSource.class).stream())
+                .forEach(limiter -> {
+                    Gauge.builder("jdbc.connection.permits.available", limiter, ConnectionLimitingDataSource::getAvailablePermits)
+                            .description("Connection permits not currently held")
+                            .register(registry);
+                    Gauge.builder("jdbc.connection.permits.waiting", limiter, ConnectionLimitingDataSource::getQueueLength)
+                            .description("Threads queued for a connection permit")
+                            .register(registry);
+                });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(Environment environment) {
+        return new PinnedThreadMonitor(environment.getProperty("app.virtual-threads.pinning-monitor.threshold",
+                Duration.class, Duration.ofMillis(20)));
+    }
+
+    /**
+     * Looks through wrappers such as the query-budget proxy, which is not a subclass of what it wraps.
+     */
+    private static <T> Optional<T> unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? Optional.of(dataSource.unwrap(type)) : Optional.empty();
+        } catch (SQLException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package octguy.demospringboot.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.analytics.GpaDistributionService;
+import octguy.demospringboot.analytics.StudentRankService;
+import octguy.demospringboot.dto.GpaDistribution;
+import octguy.demospringboot.dto.MajorSummary;
+import octguy.demospringboot.dto.StudentRank;
+import octguy.demospringboot.exception.StudentNotFoundException;
+import octguy.demospringboot.service.MajorStatsService;
+import octguy.demospringboot.service.StudentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+
+    private final GpaDistributionService gpaDistributionService;
+    private final StudentRankService studentRankService;
+    private final StudentService studentService;
+    private final MajorStatsService majorStatsService;
+
+    @GetMapping("/gpa")
+    public GpaDistribution gpaDistribution(
+            @RequestParam(required = false) List<String> majors,
+            @RequestParam(defaultValue = "0.25") double binWidth) {
+        log.debug("GPA distribution requested - majors: {}, binWidth: {}", majors, binWidth);
+        try {
+            return gpaDistributionService.getDistribution(majors, binWidth);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/gpa/by-major")
+    public Map<String, GpaDistribution> gpaDistributionsByMajor(@RequestParam(defaultValue = "0.25") double binWidth) {
+        log.debug("Per-major GPA distributions requested - binWidth: {}", binWidth);
+        try {
+            return gpaDistributionService.getDistributionsByMajor(binWidth);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/majors")
+    public List<MajorSummary> majors() {
+        log.debug("Per-major GPA summaries requested");
+        return majorStatsService.getSummaries();
+    }
+
+    @GetMapping("/rank/{id}")
+    public StudentRank studentRank(@PathVariable Long id) {
+        log.debug("GPA rank requested for student id: {}", id);
+        try {
+            return studentRankService.getRank(studentService.getStudentById(id))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Rank index is loading"));
+        } catch (StudentNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/ranking")
+    public List<StudentRank> ranking(
+            @RequestParam(defaultValue = "1") int from,
+            @RequestParam(defaultValue = "10") int count) {
+        log.debug("GPA ranking requested - from: {}, count: {}", from, count);
+        try {
+            return studentRankService.getRanking(from, count);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
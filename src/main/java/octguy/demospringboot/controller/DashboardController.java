@@ -2,13 +2,32 @@ package octguy.demospringboot.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.admission.Admission;
+import octguy.demospringboot.admission.CostClass;
+import octguy.demospringboot.analytics.GpaDistributionService;
+import octguy.demospringboot.archive.StudentArchive;
 import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.dto.MajorSummary;
+import octguy.demospringboot.service.MajorStatsService;
 import octguy.demospringboot.service.StudentService;
+import octguy.demospringboot.snapshot.StudentSnapshotService;
+import octguy.demospringboot.view.FragmentCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static octguy.demospringboot.logging.LogMarkers.HOT_PATH;
 
 @Controller
 @RequestMapping("/dashboard")
@@ -17,18 +36,42 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class DashboardController {
     
     private final StudentService studentService;
+    private final ObjectProvider<StudentSnapshotService> snapshotService;
+    private final GpaDistributionService gpaDistributionService;
+    private final MajorStatsService majorStatsService;
+    private final FragmentCache fragmentCache;
+    private final StudentArchive studentArchive;
+    
+    @Value("${app.analytics.gpa-bin-width:0.25}")
+    private double gpaBinWidth;
     
     @GetMapping
-    public String dashboard(Authentication authentication, Model model) {
-        log.debug("Dashboard accessed by user: {}", authentication.getName());
+    @Admission(CostClass.REPORT)
+    public String dashboard(Authentication authentication,
+                            @RequestParam(defaultValue = "false") boolean includeArchived,
+                            Model model) {
+        log.info(HOT_PATH, "Dashboard accessed by user: {}", authentication.getName());
         
-        DashboardStats stats = studentService.getDashboardStats();
-        
-        model.addAttribute("stats", stats);
-        model.addAttribute("username", authentication.getName());
-        model.addAttribute("isAdmin", authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        // only loaded if one of the fragments below misses, and then once for all of them
+        Supplier<Map<String, Object>> stats = SingletonSupplier.of(() -> Map.of("stats", loadStats()));
+        model.addAttribute("statCards", fragmentCache.render("fragments/dashboard", "stat-cards", stats));
+        model.addAttribute("topPerformers", fragmentCache.render("fragments/dashboard", "top-performers", stats));
+        model.addAttribute("chartData", fragmentCache.render("fragments/dashboard", "chart-data", stats));
+        model.addAttribute("gpaDistribution", gpaDistributionService.getDistribution(null, gpaBinWidth));
+        model.addAttribute("majorDistributions", gpaDistributionService.getDistributionsByMajor(gpaBinWidth));
+        model.addAttribute("majorStats", majorStatsService.getSummaries().stream()
+                .collect(Collectors.toMap(MajorSummary::getMajor, Function.identity())));
+        model.addAttribute("includeArchived", includeArchived);
+        if (includeArchived) {
+            model.addAttribute("archiveSummary", studentArchive.getSummary());
+        }
         
         return "dashboard";
     }
+    
+    private DashboardStats loadStats() {
+        StudentSnapshotService snapshots = snapshotService.getIfAvailable();
+        return snapshots == null ? studentService.getDashboardStats()
+                : snapshots.getDashboardStats().orElseGet(studentService::getDashboardStats);
+    }
 }
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
@@ -13,9 +12,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 public class HomeController {
     
     @GetMapping({"/", "/home"})
-    public String home(Authentication authentication, Model model) {
+    public String home(Authentication authentication) {
         log.debug("Home page accessed by user: {}", authentication.getName());
-        model.addAttribute("username", authentication.getName());
         return "redirect:/dashboard";
     }
     
@@ -0,0 +1,46 @@
+package octguy.demospringboot.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.OutboxBatch;
+import octguy.demospringboot.model.OutboxEntry;
+import octguy.demospringboot.outbox.StudentOutbox;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/outbox")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxController {
+
+    private final StudentOutbox studentOutbox;
+
+    @GetMapping
+    public OutboxBatch poll(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) List<Long> retry) {
+        log.debug("Outbox polled - after: {}, limit: {}, retry: {}", after, limit, retry);
+        try {
+            List<OutboxEntry> entries = new ArrayList<>(studentOutbox.readSequences(
+                    retry == null ? List.of() : retry.stream().filter(sequence -> sequence <= after).limit(limit).toList()));
+            List<OutboxEntry> next = studentOutbox.read(after, limit);
+            entries.addAll(next);
+            return OutboxBatch.builder()
+                    .entries(entries)
+                    .next(next.isEmpty() ? after : next.getLast().getSequence())
+                    .gaps(StudentOutbox.gaps(after, next))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
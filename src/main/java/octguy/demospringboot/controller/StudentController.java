@@ -1,19 +1,28 @@
 package octguy.demospringboot.controller;
 
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.admission.Admission;
+import octguy.demospringboot.admission.CostClass;
+import octguy.demospringboot.analytics.StudentRankService;
+import octguy.demospringboot.archive.StudentArchive;
+import octguy.demospringboot.dto.ImportResult;
+import octguy.demospringboot.dto.Suggestions;
 import octguy.demospringboot.exception.DuplicateEmailException;
 import octguy.demospringboot.exception.StudentNotFoundException;
+import octguy.demospringboot.model.ArchivedStudent;
 import octguy.demospringboot.model.Student;
+import octguy.demospringboot.service.StudentCsvService;
+import octguy.demospringboot.search.TypeaheadService;
 import octguy.demospringboot.service.StudentService;
+import octguy.demospringboot.view.FragmentCache;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -22,13 +31,12 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+import static octguy.demospringboot.logging.LogMarkers.HOT_PATH;
 
 @Controller
 @RequestMapping("/students")
@@ -37,8 +45,15 @@ import java.util.List;
 public class StudentController {
     
     private final StudentService studentService;
+    private final StudentCsvService studentCsvService;
+    private final StudentRankService studentRankService;
+    private final TypeaheadService typeaheadService;
+    private final MeterRegistry meterRegistry;
+    private final FragmentCache fragmentCache;
+    private final StudentArchive studentArchive;
     
     @GetMapping
+    @Admission(value = CostClass.QUERY, whenParams = {"keyword", "major", "minGpa", "maxGpa", "includeArchived"})
     public String listStudents(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
@@ -47,11 +62,11 @@ public class StudentController {
             @RequestParam(required = false) String major,
             @RequestParam(required = false) BigDecimal minGpa,
             @RequestParam(required = false) BigDecimal maxGpa,
-            Model model,
-            Authentication authentication) {
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Model model) {
         
-        log.debug("Listing students - page: {}, size: {}, sortBy: {}, keyword: {}, major: {}, minGpa: {}, maxGpa: {}", 
-                page, size, sortBy, keyword, major, minGpa, maxGpa);
+        log.info(HOT_PATH, "Listing students - page: {}, size: {}, sortBy: {}, keyword: {}, major: {}, minGpa: {}, maxGpa: {}, includeArchived: {}", 
+                page, size, sortBy, keyword, major, minGpa, maxGpa, includeArchived);
         
         Page<Student> studentPage;
         
@@ -70,30 +85,47 @@ public class StudentController {
             studentPage = studentService.getAllStudents(page, size, sortBy);
         }
         
+        int totalPages = studentPage.getTotalPages();
+        
+        // Archived students only on request, so the default listing never touches the archive
+        if (includeArchived) {
+            Page<ArchivedStudent> archivedPage = studentArchive.search(keyword, major,
+                    minGpa != null ? minGpa.doubleValue() : null, maxGpa != null ? maxGpa.doubleValue() : null,
+                    page, size, sortBy);
+            model.addAttribute("archivedStudents", archivedPage.getContent());
+            model.addAttribute("archivedTotal", archivedPage.getTotalElements());
+            totalPages = Math.max(totalPages, archivedPage.getTotalPages());
+        }
+        
         model.addAttribute("students", studentPage.getContent());
+        model.addAttribute("includeArchived", includeArchived);
         model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", studentPage.getTotalPages());
+        model.addAttribute("totalPages", totalPages);
         model.addAttribute("totalItems", studentPage.getTotalElements());
         model.addAttribute("size", size);
         model.addAttribute("sortBy", sortBy);
-        model.addAttribute("allMajors", studentService.getAllMajors());
-        model.addAttribute("username", authentication.getName());
-        model.addAttribute("isAdmin", authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        model.addAttribute("majorOptions", fragmentCache.render("fragments/students", "major-options",
+                () -> Map.of("allMajors", studentService.getAllMajors())));
         
         return "students/list";
     }
     
+    @GetMapping("/suggest")
+    @ResponseBody
+    public Suggestions suggest(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return typeaheadService.suggest(prefix, limit);
+    }
+    
     @GetMapping("/{id}")
-    public String viewStudent(@PathVariable Long id, Model model, Authentication authentication) {
-        log.debug("Viewing student with id: {}", id);
+    public String viewStudent(@PathVariable Long id, Model model) {
+        log.info(HOT_PATH, "Viewing student with id: {}", id);
         
         try {
             Student student = studentService.getStudentById(id);
             model.addAttribute("student", student);
-            model.addAttribute("username", authentication.getName());
-            model.addAttribute("isAdmin", authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+            model.addAttribute("rank", studentRankService.getRank(student).orElse(null));
             return "students/view";
         } catch (StudentNotFoundException e) {
             log.error("Student not found: {}", e.getMessage());
@@ -103,10 +135,9 @@ public class StudentController {
     
     @GetMapping("/new")
     @PreAuthorize("hasRole('ADMIN')")
-    public String showCreateForm(Model model, Authentication authentication) {
+    public String showCreateForm(Model model) {
         log.debug("Showing create student form");
         model.addAttribute("student", new Student());
-        model.addAttribute("username", authentication.getName());
         return "students/form";
     }
     
@@ -116,14 +147,12 @@ public class StudentController {
             @Valid @ModelAttribute Student student,
             BindingResult result,
             RedirectAttributes redirectAttributes,
-            Model model,
-            Authentication authentication) {
+            Model model) {
         
         log.debug("Creating student: {}", student);
         
         if (result.hasErrors()) {
             log.error("Validation errors: {}", result.getAllErrors());
-            model.addAttribute("username", authentication.getName());
             return "students/form";
         }
         
@@ -134,20 +163,18 @@ public class StudentController {
         } catch (DuplicateEmailException e) {
             log.error("Duplicate email error: {}", e.getMessage());
             model.addAttribute("errorMessage", e.getMessage());
-            model.addAttribute("username", authentication.getName());
             return "students/form";
         }
     }
     
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public String showEditForm(@PathVariable Long id, Model model, Authentication authentication) {
+    public String showEditForm(@PathVariable Long id, Model model) {
         log.debug("Showing edit form for student id: {}", id);
         
         try {
             Student student = studentService.getStudentById(id);
             model.addAttribute("student", student);
-            model.addAttribute("username", authentication.getName());
             model.addAttribute("isEdit", true);
             return "students/form";
         } catch (StudentNotFoundException e) {
@@ -163,14 +190,12 @@ public class StudentController {
             @Valid @ModelAttribute Student student,
             BindingResult result,
             RedirectAttributes redirectAttributes,
-            Model model,
-            Authentication authentication) {
+            Model model) {
         
         log.debug("Updating student with id: {}", id);
         
         if (result.hasErrors()) {
             log.error("Validation errors: {}", result.getAllErrors());
-            model.addAttribute("username", authentication.getName());
             model.addAttribute("isEdit", true);
             return "students/form";
         }
@@ -185,7 +210,6 @@ public class StudentController {
         } catch (DuplicateEmailException e) {
             log.error("Duplicate email error: {}", e.getMessage());
             model.addAttribute("errorMessage", e.getMessage());
-            model.addAttribute("username", authentication.getName());
             model.addAttribute("isEdit", true);
             return "students/form";
         }
@@ -206,8 +230,29 @@ public class StudentController {
         }
     }
     
+    @PostMapping("/archive/{id}/restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public String restoreStudent(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        log.debug("Restoring archived student with id: {}", id);
+        
+        try {
+            studentArchive.restore(id);
+            redirectAttributes.addFlashAttribute("successMessage", "Student restored successfully!");
+            return "redirect:/students/" + id;
+        } catch (StudentNotFoundException e) {
+            log.error("Archived student not found: {}", e.getMessage());
+            return "redirect:/students?error=notfound";
+        } catch (DuplicateEmailException e) {
+            log.error("Cannot restore student {}: {}", id, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            return "redirect:/students?includeArchived=true";
+        }
+    }
+    
     @GetMapping("/export")
     @PreAuthorize("hasRole('ADMIN')")
+    @Timed(value = "student.csv.export", histogram = true)
+    @Admission(CostClass.BULK)
     public void exportToCSV(HttpServletResponse response) throws IOException {
         log.debug("Exporting students to CSV");
         
@@ -216,30 +261,13 @@ public class StudentController {
             response.setHeader("Content-Disposition", "attachment; filename=\"students_" + 
                 LocalDate.now() + ".csv\"");
         
-        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
-            // Write header
-            String[] header = {"ID", "Name", "Email", "Major", "GPA"};
-            writer.writeNext(header);
-            
-            // Write data
-            List<Student> students = studentService.getAllStudentsNoPaging();
-            for (Student student : students) {
-                String[] data = {
-                    student.getId().toString(),
-                    student.getName(),
-                    student.getEmail(),
-                    student.getMajor(),
-                    student.getGpa().toString()
-                };
-                writer.writeNext(data);
-            }
-            
-            log.info("Successfully exported {} students to CSV", students.size());
-        }
+        studentCsvService.exportToCSV(response.getOutputStream());
     }
     
     @PostMapping("/import")
     @PreAuthorize("hasRole('ADMIN')")
+    @Timed(value = "student.csv.import", histogram = true)
+    @Admission(CostClass.BULK)
     public String importFromCSV(
             @RequestParam("file") MultipartFile file,
             RedirectAttributes redirectAttributes) {
@@ -256,55 +284,19 @@ public class StudentController {
             return "redirect:/students";
         }
         
-        try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            List<String[]> rows = reader.readAll();
+        try {
+            ImportResult result = studentCsvService.importFromCSV(file.getInputStream(), file.getSize());
             
-            if (rows.isEmpty()) {
+            if (result.isEmpty()) {
                 redirectAttributes.addFlashAttribute("errorMessage", "CSV file is empty.");
                 return "redirect:/students";
             }
             
-            // Skip header row
-            List<Student> studentsToImport = new ArrayList<>();
-            List<String> errors = new ArrayList<>();
+            List<String> errors = result.getErrors();
             
-            for (int i = 1; i < rows.size(); i++) {
-                String[] row = rows.get(i);
-                
-                if (row.length < 4) {
-                    errors.add("Row " + (i + 1) + ": Insufficient columns");
-                    continue;
-                }
-                
-                try {
-                    Student student = new Student();
-                    student.setName(row[0].trim());
-                    student.setEmail(row[1].trim());
-                    student.setMajor(row[2].trim());
-                    student.setGpa(Double.parseDouble(row[3].trim()));
-                    
-                    studentsToImport.add(student);
-                } catch (NumberFormatException e) {
-                    errors.add("Row " + (i + 1) + ": Invalid GPA format");
-                } catch (Exception e) {
-                    errors.add("Row " + (i + 1) + ": " + e.getMessage());
-                }
-            }
-            
-            // Save valid students
-            int successCount = 0;
-            for (Student student : studentsToImport) {
-                try {
-                    studentService.createStudent(student);
-                    successCount++;
-                } catch (DuplicateEmailException e) {
-                    errors.add("Duplicate email: " + student.getEmail());
-                }
-            }
-            
-            if (successCount > 0) {
+            if (result.getImportedCount() > 0) {
                 redirectAttributes.addFlashAttribute("successMessage", 
-                        "Successfully imported " + successCount + " students.");
+                        "Successfully imported " + result.getImportedCount() + " students.");
             }
             
             if (!errors.isEmpty()) {
@@ -312,7 +304,15 @@ public class StudentController {
                         "Errors occurred: " + String.join("; ", errors));
             }
             
-            log.info("Import completed: {} successful, {} errors", successCount, errors.size());
+            List<String> possibleDuplicates = result.getPossibleDuplicates();
+            if (!possibleDuplicates.isEmpty()) {
+                redirectAttributes.addFlashAttribute("warningMessage",
+                        "Possible duplicates: " + String.join("; ", possibleDuplicates));
+            }
+            
+            meterRegistry.counter("student.import.rows", "result", "accepted").increment(result.getImportedCount());
+            meterRegistry.counter("student.import.rows", "result", "rejected").increment(errors.size());
+            meterRegistry.counter("student.import.possible.duplicates").increment(possibleDuplicates.size());
             
         } catch (IOException | CsvException e) {
             log.error("Error reading CSV file", e);
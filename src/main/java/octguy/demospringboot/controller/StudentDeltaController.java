@@ -0,0 +1,39 @@
+package octguy.demospringboot.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.admission.Admission;
+import octguy.demospringboot.admission.CostClass;
+import octguy.demospringboot.delta.StudentDeltaExport;
+import octguy.demospringboot.dto.StudentDelta;
+import octguy.demospringboot.exception.WatermarkExpiredException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/students/delta")
+@RequiredArgsConstructor
+@Slf4j
+public class StudentDeltaController {
+
+    private final StudentDeltaExport studentDeltaExport;
+
+    @GetMapping
+    @Admission(CostClass.REPORT)
+    public StudentDelta changesSince(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "1000") int limit) {
+        log.debug("Delta export requested - since: {}, limit: {}", since, limit);
+        try {
+            return studentDeltaExport.changesSince(since, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (WatermarkExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage());
+        }
+    }
+}
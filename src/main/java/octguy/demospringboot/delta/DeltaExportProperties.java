@@ -0,0 +1,14 @@
+package octguy.demospringboot.delta;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.delta-export")
+public class DeltaExportProperties {
+    private Duration settle = Duration.ofSeconds(5); // changes younger than this may belong to an open transaction
+    private int maxLimit = 5000; // upper bound for the rows returned per call
+    private Duration tombstoneRetention = Duration.ofDays(30); // older watermarks need a full export
+}
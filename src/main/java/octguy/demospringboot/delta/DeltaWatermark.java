@@ -0,0 +1,37 @@
+package octguy.demospringboot.delta;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in the (updatedAt, id) order of student changes: everything at or before it has been
+ * exported. Written as {@code <ISO-8601 instant>,<id>}; clients treat it as opaque.
+ */
+public record DeltaWatermark(Instant updatedAt, long id) {
+
+    public static final DeltaWatermark START = new DeltaWatermark(Instant.EPOCH, 0);
+
+    /**
+     * After every change at {@code updatedAt}, whatever its id.
+     */
+    public static DeltaWatermark endOf(Instant updatedAt) {
+        return new DeltaWatermark(updatedAt, Long.MAX_VALUE);
+    }
+
+    public static DeltaWatermark parse(String value) {
+        int comma = value.lastIndexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Malformed watermark: " + value);
+        }
+        try {
+            return new DeltaWatermark(Instant.parse(value.substring(0, comma)), Long.parseLong(value.substring(comma + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed watermark: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return updatedAt + "," + id;
+    }
+}
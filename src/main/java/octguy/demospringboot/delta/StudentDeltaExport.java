@@ -0,0 +1,113 @@
+package octguy.demospringboot.delta;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.StudentDelta;
+import octguy.demospringboot.exception.WatermarkExpiredException;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.repository.StudentTombstoneRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Students changed since a client's watermark, for incremental syncs: rows created or updated
+ * (found through the index on {@code students.updated_at}) and tombstones of rows deleted or
+ * moved to the archive, plus the watermark to pass next time.
+ * <p>
+ * Timestamps are taken when a row is written but become visible at commit, so a change stamped
+ * just before the read may still be invisible. Only changes older than
+ * {@code app.delta-export.settle} are exported; anything newer is picked up by the next call.
+ */
+@Service
+@EnableConfigurationProperties(DeltaExportProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class StudentDeltaExport {
+
+    private final StudentRepository studentRepository;
+    private final StudentTombstoneRepository tombstoneRepository;
+    private final DeltaExportProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Records the removal of the students with {@code ids}, already copied to
+     * {@code students_archive}, in the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordArchived(Collection<Long> ids) {
+        tombstoneRepository.insertForArchived(ids, clock.instant());
+    }
+
+    /**
+     * Forgets the removal of a student restored from the archive, so that a delta spanning both
+     * reports it as changed only.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRestored(long id) {
+        tombstoneRepository.deleteByStudentId(id);
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, or the whole table in pages when
+     * {@code since} is null (no deletions are reported then).
+     *
+     * @throws IllegalArgumentException  if the watermark is malformed or the limit is below 1
+     * @throws WatermarkExpiredException if deletions that old are no longer kept
+     */
+    @Transactional(readOnly = true)
+    public StudentDelta changesSince(String since, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        Instant now = clock.instant();
+        boolean initial = since == null || since.isBlank();
+        DeltaWatermark from = initial ? DeltaWatermark.START : DeltaWatermark.parse(since);
+        if (!initial && from.updatedAt().isBefore(now.minus(properties.getTombstoneRetention()))) {
+            throw new WatermarkExpiredException("Watermark " + since + " is older than the "
+                    + properties.getTombstoneRetention() + " deletions are kept for; run a full export");
+        }
+        Instant upTo = now.minus(properties.getSettle()).truncatedTo(ChronoUnit.MICROS);
+        if (from.updatedAt().isAfter(upTo)) {
+            return StudentDelta.builder().changed(List.of()).deleted(List.of()).watermark(from.toString()).build();
+        }
+
+        int pageSize = Math.min(limit, properties.getMaxLimit());
+        List<Student> changed = studentRepository.findChangedSince(from.updatedAt(), from.id(), upTo,
+                PageRequest.ofSize(pageSize));
+        boolean more = changed.size() == pageSize;
+        DeltaWatermark next = more
+                ? new DeltaWatermark(changed.getLast().getUpdatedAt(), changed.getLast().getId())
+                : DeltaWatermark.endOf(upTo);
+        List<Long> deleted = initial ? List.of()
+                : tombstoneRepository.findStudentIdsDeletedBetween(from.updatedAt(), next.updatedAt());
+
+        log.debug("Delta export after {}: {} changed, {} deleted, next {}", from, changed.size(), deleted.size(), next);
+        return StudentDelta.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .watermark(next.toString())
+                .more(more)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    @Transactional
+    public int purge() {
+        int purged = tombstoneRepository.deleteDeletedBefore(clock.instant().minus(properties.getTombstoneRetention()));
+        if (purged > 0) {
+            log.info("Purged {} student tombstones older than {}", purged, properties.getTombstoneRetention());
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,15 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveSummary {
+    private long archivedStudents; // all rows in students_archive
+    private long deletedStudents; // of which soft-deleted
+}
@@ -0,0 +1,31 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GpaDistribution {
+    private List<String> majors; // the majors merged into this distribution, empty for all
+    private long count;
+    private double mean;
+    private Double median; // null when there are no students
+    private Double p90;
+    private Double p99;
+    private List<Bin> bins;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bin {
+        private double from;
+        private double to;
+        private long count;
+    }
+}
@@ -0,0 +1,19 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResult {
+    private boolean empty; // no rows at all, not even a header
+    private int importedCount;
+    private List<String> errors;
+    private List<String> possibleDuplicates; // imported, but similar to an existing student
+}
@@ -0,0 +1,19 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MajorSummary {
+    private String major;
+    private long students;
+    private double averageGpa;
+    private double stdDevGpa; // population standard deviation
+    private Double minGpa;
+    private Double maxGpa;
+}
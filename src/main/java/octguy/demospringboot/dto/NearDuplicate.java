@@ -0,0 +1,17 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearDuplicate {
+    private Long studentId;
+    private String name;
+    private String email;
+    private double similarity; // Jaccard similarity of name and email bigrams, 0..1
+}
@@ -0,0 +1,19 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import octguy.demospringboot.model.OutboxEntry;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxBatch {
+    private List<OutboxEntry> entries;
+    private long next; // pass as 'after' on the next poll
+    private List<Long> gaps; // sequences passed over in this batch; pass as 'retry' until they turn up or expire
+}
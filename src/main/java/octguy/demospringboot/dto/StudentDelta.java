@@ -0,0 +1,20 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import octguy.demospringboot.model.Student;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentDelta {
+    private List<Student> changed; // created or updated, as they are now
+    private List<Long> deleted; // ids of students deleted since the previous watermark
+    private String watermark; // pass as 'since' on the next call
+    private boolean more; // the limit was reached; call again right away
+}
@@ -0,0 +1,19 @@
+package octguy.demospringboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import octguy.demospringboot.model.Student;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentRank {
+    private long rank; // 1 + students with a higher GPA, ties share a rank
+    private long position; // 1-based place in (GPA desc, id asc) order
+    private long total;
+    private double percentile; // share of students with a lower GPA, 0-100
+    private Student student;
+}
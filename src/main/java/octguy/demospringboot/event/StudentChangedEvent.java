@@ -0,0 +1,42 @@
+package octguy.demospringboot.event;
+
+import octguy.demospringboot.model.Student;
+
+/**
+ * Published by {@code StudentService} and {@code StudentArchive} for every committed write; moving
+ * a student to the archive is a delete and restoring it a create. {@code student} is a detached
+ * copy of the row as written (for deletes, as it was before the delete); {@code previous} is the
+ * row before an update and {@code null} otherwise.
+ */
+public record StudentChangedEvent(Type type, Student student, Student previous) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static StudentChangedEvent of(Type type, Student student) {
+        return new StudentChangedEvent(type, copy(student), null);
+    }
+
+    /**
+     * @param previous a copy taken with {@link #copy(Student)} before the entity was modified
+     */
+    public static StudentChangedEvent updated(Student previous, Student student) {
+        return new StudentChangedEvent(Type.UPDATED, copy(student), previous);
+    }
+
+    public static Student copy(Student student) {
+        return Student.builder()
+                .id(student.getId())
+                .name(student.getName())
+                .email(student.getEmail())
+                .major(student.getMajor())
+                .gpa(student.getGpa())
+                .status(student.getStatus())
+                .createdAt(student.getCreatedAt())
+                .updatedAt(student.getUpdatedAt())
+                .build();
+    }
+
+    public long id() {
+        return student.getId();
+    }
+}
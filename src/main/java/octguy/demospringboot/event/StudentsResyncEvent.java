@@ -0,0 +1,8 @@
+package octguy.demospringboot.event;
+
+/**
+ * Asks every in-process structure derived from the students table to reload it from scratch,
+ * e.g. after changes that bypassed the {@link StudentChangedEvent}s.
+ */
+public record StudentsResyncEvent(String reason) {
+}
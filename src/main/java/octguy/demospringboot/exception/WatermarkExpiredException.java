@@ -0,0 +1,7 @@
+package octguy.demospringboot.exception;
+
+public class WatermarkExpiredException extends RuntimeException {
+    public WatermarkExpiredException(String message) {
+        super(message);
+    }
+}
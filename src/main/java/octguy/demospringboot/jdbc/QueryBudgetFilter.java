@@ -0,0 +1,29 @@
+package octguy.demospringboot.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a request-wide {@link StatementScope} so every statement issued while serving the
+ * request, including those from the security filter chain, counts against the request budget.
+ */
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (StatementScope ignored = StatementScope.open(
+                "request " + request.getMethod() + " " + request.getRequestURI(), properties.getPerRequest())) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
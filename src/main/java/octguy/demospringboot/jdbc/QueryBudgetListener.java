@@ -0,0 +1,65 @@
+package octguy.demospringboot.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import octguy.demospringboot.exception.QueryBudgetExceededException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Counts every statement executed through the proxied DataSource against the scopes open on
+ * the current thread. A transaction scope is opened lazily on the first statement inside a
+ * Spring-managed transaction and closed when it completes. Going over budget is logged with
+ * the offending SQL, or rejected before execution in {@link QueryBudgetProperties.Mode#FAIL} mode.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetListener implements QueryExecutionListener {
+
+    private static final Object TRANSACTION_SCOPE_KEY = new Object();
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        openTransactionScopeIfNeeded();
+        for (StatementScope scope : StatementScope.openScopes()) {
+            scope.increment();
+            if (scope.isOverBudget() && scope.markReported()) {
+                String sql = queryInfoList.isEmpty() ? "" : queryInfoList.getFirst().getQuery();
+                String message = String.format("Statement budget exceeded in %s: %d > %d (last statement: %s)",
+                        scope.getName(), scope.getCount(), scope.getBudget(), sql);
+                if (properties.getMode() == QueryBudgetProperties.Mode.FAIL) {
+                    throw new QueryBudgetExceededException(message);
+                }
+                log.warn(message);
+            }
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    private void openTransactionScopeIfNeeded() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(TRANSACTION_SCOPE_KEY)) {
+            return;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        StatementScope scope = StatementScope.open("transaction " + name, properties.getPerTransaction());
+        TransactionSynchronizationManager.bindResource(TRANSACTION_SCOPE_KEY, scope);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SCOPE_KEY);
+                scope.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package octguy.demospringboot.jdbc;
+
+import lombok.Data;
+
+/**
+ * Statement budgets enforced by {@link QueryBudgetListener} ({@code app.query-budget.*}).
+ */
+@Data
+public class QueryBudgetProperties {
+
+    public enum Mode { LOG, FAIL }
+
+    private boolean enabled = true;
+    private Mode mode = Mode.LOG;
+    private int perRequest = 20;
+    private int perTransaction = 10;
+}
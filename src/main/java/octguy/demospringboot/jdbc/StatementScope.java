@@ -0,0 +1,68 @@
+package octguy.demospringboot.jdbc;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A named span of work on the current thread (a request, a transaction, a test block) that
+ * counts the JDBC statements executed while it is open. Scopes nest; every open scope on the
+ * thread sees every statement.
+ */
+@Getter
+public class StatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<Deque<StatementScope>> OPEN = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final String name;
+    private final int budget;
+    private int count;
+    private boolean reported;
+
+    private StatementScope(String name, int budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    public static StatementScope open(String name, int budget) {
+        StatementScope scope = new StatementScope(name, budget);
+        OPEN.get().push(scope);
+        return scope;
+    }
+
+    /** Opens an unbounded scope, for measuring rather than enforcing. */
+    public static StatementScope open(String name) {
+        return open(name, Integer.MAX_VALUE);
+    }
+
+    static Iterable<StatementScope> openScopes() {
+        return OPEN.get();
+    }
+
+    public boolean isOverBudget() {
+        return count > budget;
+    }
+
+    void increment() {
+        count++;
+    }
+
+    /** Returns true the first time this scope goes over budget, so each scope is reported once. */
+    boolean markReported() {
+        if (reported) {
+            return false;
+        }
+        reported = true;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        Deque<StatementScope> open = OPEN.get();
+        open.remove(this);
+        if (open.isEmpty()) {
+            OPEN.remove();
+        }
+    }
+}
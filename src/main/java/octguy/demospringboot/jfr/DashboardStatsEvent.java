@@ -0,0 +1,24 @@
+package octguy.demospringboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("octguy.DashboardStats")
+@Label("Dashboard Statistics")
+@Category({"Student Management", "Queries"})
+@Description("Dashboard aggregates computed over the students table")
+@Enabled(false)
+@StackTrace(false)
+public class DashboardStatsEvent extends Event {
+
+    @Label("Students")
+    public long students;
+
+    @Label("Majors")
+    public int majors;
+}
@@ -0,0 +1,35 @@
+package octguy.demospringboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("octguy.StudentExport")
+@Label("Student CSV Export")
+@Category({"Student Management", "CSV"})
+@Description("All students loaded and written out as CSV")
+@Enabled(false)
+@StackTrace(false)
+public class StudentExportEvent extends Event {
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    @Label("Query Duration")
+    @Timespan
+    public long queryNanos;
+
+    @Label("Write Duration")
+    @Timespan
+    public long writeNanos;
+}
@@ -0,0 +1,45 @@
+package octguy.demospringboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("octguy.StudentFilter")
+@Label("Student Filter")
+@Category({"Student Management", "Queries"})
+@Description("A multi-criteria filter over the students table")
+@Enabled(false)
+@StackTrace(false)
+public class StudentFilterEvent extends Event {
+
+    @Label("Keyword")
+    public String keyword;
+
+    @Label("Major")
+    public String major;
+
+    @Label("Min GPA")
+    public double minGpa = Double.NaN;
+
+    @Label("Max GPA")
+    public double maxGpa = Double.NaN;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Page Size")
+    public int size;
+
+    @Label("Sort By")
+    public String sortBy;
+
+    @Label("Rows Scanned")
+    public int scanned;
+
+    @Label("Rows Matched")
+    public int matched;
+}
@@ -0,0 +1,50 @@
+package octguy.demospringboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("octguy.StudentImport")
+@Label("Student CSV Import")
+@Category({"Student Management", "CSV"})
+@Description("A CSV upload parsed, validated and written to the students table")
+@Enabled(false)
+@StackTrace(false)
+public class StudentImportEvent extends Event {
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Rows")
+    @Description("Data rows in the file, excluding the header")
+    public int rows;
+
+    @Label("Accepted Rows")
+    public int accepted;
+
+    @Label("Rejected Rows")
+    public int rejected;
+
+    @Label("Possible Duplicates")
+    @Description("Accepted rows that resemble an existing student by name and email")
+    public int flagged;
+
+    @Label("Parse Duration")
+    @Timespan
+    public long parseNanos;
+
+    @Label("Validate Duration")
+    @Timespan
+    public long validateNanos;
+
+    @Label("Write Duration")
+    @Timespan
+    public long writeNanos;
+}
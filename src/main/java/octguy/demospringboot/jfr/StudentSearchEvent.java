@@ -0,0 +1,33 @@
+package octguy.demospringboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("octguy.StudentSearch")
+@Label("Student Search")
+@Category({"Student Management", "Queries"})
+@Description("A keyword search over student names and emails")
+@Enabled(false)
+@StackTrace(false)
+public class StudentSearchEvent extends Event {
+
+    @Label("Keyword")
+    public String keyword;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Page Size")
+    public int size;
+
+    @Label("Sort By")
+    public String sortBy;
+
+    @Label("Total Matches")
+    public long matches;
+}
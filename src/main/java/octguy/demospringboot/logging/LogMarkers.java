@@ -0,0 +1,17 @@
+package octguy.demospringboot.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers {
+
+    /**
+     * Per-request messages on read paths; rate-limited and sampled by {@link SamplingTurboFilter}
+     * in the {@code prod} logging profile. Log them at {@code INFO}, the level {@code prod} emits
+     * for this application, or the filter never sees them.
+     */
+    public static final Marker HOT_PATH = MarkerFactory.getMarker("HOT_PATH");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,30 @@
+package octguy.demospringboot.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts hot-path messages dropped by the {@link SamplingTurboFilter}, when one is configured.
+ */
+@Component
+public class SampledLogMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        context.getTurboFilterList().stream()
+                .filter(SamplingTurboFilter.class::isInstance)
+                .map(SamplingTurboFilter.class::cast)
+                .findFirst()
+                .ifPresent(filter -> FunctionCounter.builder("logging.sampled.suppressed", filter,
+                                SamplingTurboFilter::getSuppressed)
+                        .description("Hot-path log messages dropped by sampling")
+                        .register(registry));
+    }
+}
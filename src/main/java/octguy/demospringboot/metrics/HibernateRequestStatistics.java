@@ -0,0 +1,69 @@
+package octguy.demospringboot.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.util.Iterator;
+
+/**
+ * Counts the statements, entity loads and flushes Hibernate performs on the current thread.
+ * <p>
+ * Hibernate's own {@code Statistics} are global to the session factory, so under concurrent
+ * load they cannot be attributed to a single request. This hook is registered as the
+ * session factory's statement inspector and interceptor and keeps per-thread counters that
+ * {@link RequestStatisticsInterceptor} resets and records around each request.
+ */
+public class HibernateRequestStatistics implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    public static Counts current() {
+        return COUNTS.get();
+    }
+
+    public static void reset() {
+        COUNTS.get().clear();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get().queries++;
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        COUNTS.get().entityLoads++;
+        return false;
+    }
+
+    @Override
+    public void preFlush(Iterator<Object> entities) {
+        COUNTS.get().flushes++;
+    }
+
+    public static final class Counts {
+        private long queries;
+        private long entityLoads;
+        private long flushes;
+
+        public long getQueries() {
+            return queries;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+
+        public long getFlushes() {
+            return flushes;
+        }
+
+        private void clear() {
+            queries = 0;
+            entityLoads = 0;
+            flushes = 0;
+        }
+    }
+}
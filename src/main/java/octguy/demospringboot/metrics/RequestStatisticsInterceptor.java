@@ -0,0 +1,46 @@
+package octguy.demospringboot.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the Hibernate work done by each MVC request as distribution summaries tagged
+ * with the matched URI pattern ({@code hibernate.request.queries},
+ * {@code hibernate.request.entity.loads}, {@code hibernate.request.flushes}).
+ */
+@RequiredArgsConstructor
+public class RequestStatisticsInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HibernateRequestStatistics.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        HibernateRequestStatistics.Counts counts = HibernateRequestStatistics.current();
+
+        summary("hibernate.request.queries", "SQL statements prepared per request", uri).record(counts.getQueries());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", uri).record(counts.getEntityLoads());
+        summary("hibernate.request.flushes", "Session flushes per request", uri).record(counts.getFlushes());
+        HibernateRequestStatistics.reset();
+    }
+
+    private DistributionSummary summary(String name, String description, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
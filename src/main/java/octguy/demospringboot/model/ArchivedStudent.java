@@ -0,0 +1,57 @@
+package octguy.demospringboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A student moved out of {@code students}, either deleted or archived by status, under its
+ * original id. Rows are written and restored with set-based statements in
+ * {@code ArchivedStudentRepository}; the entity is only read.
+ */
+@Entity
+@Table(name = "students_archive", indexes = {
+        @Index(name = "idx_students_archive_email", columnList = "email"),
+        @Index(name = "idx_students_archive_archived_at", columnList = "archived_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedStudent {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String name;
+    
+    @Column(nullable = false)
+    private String email; // not unique: the address may have been reused by a current student
+    
+    @Column(nullable = false)
+    private String major;
+    
+    @Column(nullable = false)
+    private Double gpa;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private StudentStatus status; // as it was when the row was archived
+    
+    @Column(nullable = false)
+    private boolean deleted; // soft-deleted by an admin rather than archived by status
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+    
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,42 @@
+package octguy.demospringboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running per-major aggregates over {@code students}, maintained in the same transaction as every
+ * student write and reconciled against the table periodically.
+ */
+@Entity
+@Table(name = "major_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MajorStats {
+    
+    @Id
+    private String major;
+    
+    @Column(nullable = false)
+    private long studentCount;
+    
+    @Column(nullable = false)
+    private double gpaSum;
+    
+    @Column(nullable = false)
+    private double gpaSumSquares;
+    
+    private Double minGpa; // null once the last student of the major is gone
+    
+    private Double maxGpa;
+    
+    @Column(nullable = false)
+    private long excellentCount; // GPA >= 3.5
+    
+    @Column(nullable = false)
+    private long goodCount; // 3.0 <= GPA < 3.5
+    
+    @Column(nullable = false)
+    private long satisfactoryCount; // GPA < 3.0
+}
@@ -0,0 +1,72 @@
+package octguy.demospringboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import octguy.demospringboot.event.StudentChangedEvent;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * One committed student write, in commit-log order. {@code sequence} is assigned by the database
+ * and doubles as the version of the change: a later change to the same student always has a
+ * higher sequence. The student columns hold the row as written (for deletes, as it was before the
+ * delete); for updates the {@code previous*} columns hold the row before the update.
+ */
+@Entity
+@Table(name = "student_outbox", indexes = @Index(name = "idx_student_outbox_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long sequence;
+    
+    @Column(nullable = false, length = 64)
+    private String origin; // app.outbox.node-id of the node that made the change
+    
+    @Column(nullable = false)
+    private Long studentId;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private StudentChangedEvent.Type operation;
+    
+    @Column(nullable = false, length = 64)
+    private String changedFields; // comma-separated, e.g. "major,gpa,status"
+    
+    private String name;
+    
+    private String email;
+    
+    private String major;
+    
+    private Double gpa;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 16)
+    private StudentStatus status;
+    
+    private String previousName;
+    
+    private String previousEmail;
+    
+    private String previousMajor;
+    
+    private Double previousGpa;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 16)
+    private StudentStatus previousStatus;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+}
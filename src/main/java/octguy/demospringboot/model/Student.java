@@ -3,9 +3,18 @@ package octguy.demospringboot.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_students_status_updated_at", columnList = "status, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,4 +44,27 @@ public class Student {
     @DecimalMax(value = "4.0", message = "GPA must not exceed 4.0")
     @Column(nullable = false)
     private Double gpa;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private StudentStatus status = StudentStatus.ACTIVE;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+    
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt; // set on insert and on every update that changes a column
+    
+    public Student(Long id, String name, String email, String major, Double gpa) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.major = major;
+        this.gpa = gpa;
+        this.status = StudentStatus.ACTIVE;
+    }
 }
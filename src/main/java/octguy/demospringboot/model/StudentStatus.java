@@ -0,0 +1,19 @@
+package octguy.demospringboot.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enrolment status of a student. Students that are no longer {@link #ACTIVE} stay in
+ * {@code students} until {@code app.archive.after} has passed since their last change, then move
+ * to {@code students_archive}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StudentStatus {
+    ACTIVE("Active"),
+    GRADUATED("Graduated"),
+    INACTIVE("Inactive");
+
+    private final String label;
+}
@@ -0,0 +1,32 @@
+package octguy.demospringboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A deleted student, kept for {@code app.delta-export.tombstone-retention} so that delta exports
+ * can tell clients which rows to remove.
+ */
+@Entity
+@Table(name = "student_tombstones", indexes = @Index(name = "idx_student_tombstones_deleted_at", columnList = "deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long studentId;
+    
+    @Column(nullable = false)
+    private String email;
+    
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
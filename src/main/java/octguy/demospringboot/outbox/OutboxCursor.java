@@ -0,0 +1,57 @@
+package octguy.demospringboot.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A reader's place in the student outbox for {@link StudentOutbox#read(OutboxCursor, int)}: the
+ * last sequence read, and the sequences it passed over as gaps together with when. A gap is
+ * usually a rolled-back transaction, but may be one that ran longer than
+ * {@code app.outbox.gap-timeout}, so it is read again until it turns up or is older than
+ * {@code app.outbox.retention}. Not thread-safe; the reader serializes its reads.
+ */
+public final class OutboxCursor {
+
+    private volatile long position;
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>(); // sequence -> when it was passed over
+
+    public OutboxCursor(long position) {
+        this.position = position;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public Set<Long> gaps() {
+        return Set.copyOf(gaps.keySet());
+    }
+
+    void advance(long sequence) {
+        position = sequence;
+    }
+
+    void passedOver(List<Long> sequences, Instant at) {
+        sequences.forEach(sequence -> gaps.putIfAbsent(sequence, at));
+    }
+
+    void filled(long sequence) {
+        gaps.remove(sequence);
+    }
+
+    /**
+     * Gives up on gaps passed over before {@code cutoff} and, beyond that, on the oldest ones
+     * until at most {@code max} are left; returns how many were dropped.
+     */
+    int expire(Instant cutoff, int max) {
+        int before = gaps.size();
+        gaps.values().removeIf(at -> at.isBefore(cutoff));
+        while (gaps.size() > max) {
+            gaps.pollFirstEntry();
+        }
+        return before - gaps.size();
+    }
+}
@@ -0,0 +1,130 @@
+package octguy.demospringboot.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.model.OutboxEntry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers the student outbox to the {@link OutboxSubscriber} beans in batches of
+ * {@code app.outbox.batch-size}. Delivery starts after the last entry that existed when the
+ * application became ready (everything before that is covered by the subscribers' own startup
+ * loads) and runs every {@code app.outbox.poll-interval}, and right after each local commit.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final StudentOutbox outbox;
+    private final ObjectProvider<OutboxSubscriber> subscribers;
+    private final OutboxProperties properties;
+    private final Counter delivered;
+    private final Timer lag;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile OutboxCursor cursor; // null until started
+    private volatile Instant lastPolled = Instant.now(); // start of the last dispatch that read to the end of the log
+
+    public OutboxDispatcher(StudentOutbox outbox, ObjectProvider<OutboxSubscriber> subscribers,
+                            OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.subscribers = subscribers;
+        this.properties = properties;
+        this.delivered = Counter.builder("student.outbox.delivered")
+                .description("Outbox entries handed to the in-process subscribers")
+                .register(meterRegistry);
+        this.lag = Timer.builder("student.outbox.lag")
+                .description("Time from an outbox append to its delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("student.outbox.position", this, OutboxDispatcher::getPosition)
+                .description("Sequence of the last delivered outbox entry")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        cursor = new OutboxCursor(outbox.lastSequence());
+        lastPolled = Instant.now();
+        log.info("Student outbox dispatcher starting after sequence {}", cursor.position());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        dispatch();
+    }
+
+    /**
+     * Delivers everything readable after the current position, and entries that have filled a gap
+     * passed over earlier; returns the number of entries delivered. Returns 0 without waiting if
+     * another thread is already dispatching.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public int dispatch() {
+        if (cursor == null || !lock.tryLock()) {
+            return 0;
+        }
+        try {
+            Instant polled = Instant.now();
+            int total = 0;
+            List<OutboxEntry> batch;
+            do {
+                batch = outbox.read(cursor, properties.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                deliver(batch);
+                total += batch.size();
+            } while (batch.size() >= properties.getBatchSize());
+            lastPolled = polled;
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getPosition() {
+        OutboxCursor current = cursor;
+        return current == null ? -1 : current.position();
+    }
+
+    /**
+     * When this node last caught up with the outbox: nothing committed (and settled) before this
+     * instant is still undelivered.
+     */
+    public Instant getLastPolled() {
+        return lastPolled;
+    }
+
+    private void deliver(List<OutboxEntry> batch) {
+        subscribers.orderedStream().forEach(subscriber -> {
+            try {
+                subscriber.onBatch(batch);
+            } catch (RuntimeException e) {
+                log.warn("Outbox subscriber {} failed on sequences {}..{}", subscriber.getClass().getSimpleName(),
+                        batch.getFirst().getSequence(), batch.getLast().getSequence(), e);
+            }
+        });
+        Instant now = Instant.now();
+        for (OutboxEntry entry : batch) {
+            lag.record(Duration.between(entry.getCreatedAt(), now));
+        }
+        delivered.increment(batch.size());
+    }
+}
@@ -0,0 +1,18 @@
+package octguy.demospringboot.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    private String nodeId = UUID.randomUUID().toString(); // recorded as the origin of this node's entries
+    private Duration pollInterval = Duration.ofSeconds(1); // dispatcher poll, on top of the nudge after each commit
+    private int batchSize = 500; // entries handed to the subscribers at a time
+    private int maxReadSize = 1000; // upper bound for the polling API's limit
+    private Duration gapTimeout = Duration.ofSeconds(5); // how long a missing sequence may still be an open transaction
+    private Duration retention = Duration.ofDays(1);
+}
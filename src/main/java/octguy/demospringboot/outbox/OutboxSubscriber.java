@@ -0,0 +1,16 @@
+package octguy.demospringboot.outbox;
+
+import octguy.demospringboot.model.OutboxEntry;
+
+import java.util.List;
+
+/**
+ * In-process consumer of the student outbox. Beans implementing this interface receive every
+ * committed change exactly once per application run, in sequence order, from the
+ * {@link OutboxDispatcher} thread. A subscriber that throws does not hold back the others; the
+ * batch is not redelivered to it.
+ */
+public interface OutboxSubscriber {
+
+    void onBatch(List<OutboxEntry> batch);
+}
@@ -0,0 +1,196 @@
+package octguy.demospringboot.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.model.OutboxEntry;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.OutboxEntryRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code student_outbox} table: {@link #append} records a student write in the writer's
+ * transaction, {@link #read} serves committed entries after a sequence number to the
+ * {@link OutboxDispatcher} and to other nodes.
+ * <p>
+ * Sequence numbers are handed out at insert time but become visible at commit, so a reader can
+ * see 7 before a slower transaction commits 6. {@link #read} therefore stops at the first missing
+ * sequence until it is older than {@code app.outbox.gap-timeout}, after which the gap is usually a
+ * rolled-back transaction. Readers that keep an {@link OutboxCursor} also get an entry that
+ * commits after its gap was passed over, as long as that happens within {@code app.outbox.retention}.
+ */
+@Service
+@EnableConfigurationProperties(OutboxProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class StudentOutbox {
+
+    static final String ALL_FIELDS = "name,email,major,gpa,status";
+
+    private final OutboxEntryRepository repository;
+    private final OutboxProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Records {@code event} in the current transaction. Updates that did not change any field are
+     * not recorded.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(StudentChangedEvent event) {
+        String changedFields = changedFields(event);
+        if (changedFields.isEmpty()) {
+            return;
+        }
+        Student student = event.student();
+        Student previous = event.previous();
+        repository.save(OutboxEntry.builder()
+                .origin(properties.getNodeId())
+                .studentId(student.getId())
+                .operation(event.type())
+                .changedFields(changedFields)
+                .name(student.getName())
+                .email(student.getEmail())
+                .major(student.getMajor())
+                .gpa(student.getGpa())
+                .status(student.getStatus())
+                .previousName(previous == null ? null : previous.getName())
+                .previousEmail(previous == null ? null : previous.getEmail())
+                .previousMajor(previous == null ? null : previous.getMajor())
+                .previousGpa(previous == null ? null : previous.getGpa())
+                .previousStatus(previous == null ? null : previous.getStatus())
+                .createdAt(clock.instant())
+                .build());
+    }
+
+    /**
+     * Records the deletion of the students with {@code ids}, already copied to
+     * {@code students_archive}, in the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendArchived(Collection<Long> ids) {
+        repository.insertDeletedFromArchive(ids, properties.getNodeId(), ALL_FIELDS, clock.instant());
+    }
+
+    /**
+     * Up to {@code limit} committed entries after {@code after}, in sequence order, ending before
+     * the first gap that may still be filled by an open transaction.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxEntry> read(long after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        List<OutboxEntry> entries = repository.findBySequenceGreaterThanOrderBySequence(after,
+                Limit.of(Math.min(limit, properties.getMaxReadSize())));
+        Instant settled = clock.instant().minus(properties.getGapTimeout());
+        long expected = after + 1;
+        for (int i = 0; i < entries.size(); i++) {
+            OutboxEntry entry = entries.get(i);
+            if (entry.getSequence() != expected && entry.getCreatedAt().isAfter(settled)) {
+                return new ArrayList<>(entries.subList(0, i));
+            }
+            expected = entry.getSequence() + 1;
+        }
+        return entries;
+    }
+
+    /**
+     * Like {@link #read(long, int)} from the cursor's position, preceded by the entries for gaps
+     * the cursor passed over earlier that have been committed since. Moves the cursor past the
+     * returned entries.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxEntry> read(OutboxCursor cursor, int limit) {
+        Instant now = clock.instant();
+        List<OutboxEntry> entries = new ArrayList<>(readSequences(cursor.gaps()));
+        entries.forEach(entry -> cursor.filled(entry.getSequence()));
+
+        List<OutboxEntry> next = read(cursor.position(), Math.max(1, limit - entries.size()));
+        cursor.passedOver(gaps(cursor.position(), next), now);
+        if (!next.isEmpty()) {
+            cursor.advance(next.getLast().getSequence());
+        }
+        int expired = cursor.expire(now.minus(properties.getRetention()), properties.getMaxReadSize());
+        if (expired > 0) {
+            log.warn("Gave up waiting for {} student outbox sequences", expired);
+        }
+        entries.addAll(next);
+        return entries;
+    }
+
+    /**
+     * The committed entries among {@code sequences}, in sequence order.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxEntry> readSequences(Collection<Long> sequences) {
+        return sequences.isEmpty() ? List.of() : repository.findBySequenceInOrderBySequence(sequences);
+    }
+
+    /**
+     * The sequences after {@code after} that {@code entries}, as returned by {@link #read(long, int)},
+     * passed over.
+     */
+    public static List<Long> gaps(long after, List<OutboxEntry> entries) {
+        List<Long> gaps = new ArrayList<>();
+        long expected = after + 1;
+        for (OutboxEntry entry : entries) {
+            for (long missing = expected; missing < entry.getSequence(); missing++) {
+                gaps.add(missing);
+            }
+            expected = entry.getSequence() + 1;
+        }
+        return gaps;
+    }
+
+    @Transactional(readOnly = true)
+    public long lastSequence() {
+        return repository.findLastSequence();
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    @Transactional
+    public int purge() {
+        int purged = repository.deleteCreatedBefore(clock.instant().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("Purged {} student outbox entries older than {}", purged, properties.getRetention());
+        }
+        return purged;
+    }
+
+    static String changedFields(StudentChangedEvent event) {
+        if (event.type() != StudentChangedEvent.Type.UPDATED) {
+            return ALL_FIELDS;
+        }
+        Student before = event.previous();
+        Student after = event.student();
+        List<String> fields = new ArrayList<>(5);
+        if (!Objects.equals(before.getName(), after.getName())) {
+            fields.add("name");
+        }
+        if (!Objects.equals(before.getEmail(), after.getEmail())) {
+            fields.add("email");
+        }
+        if (!Objects.equals(before.getMajor(), after.getMajor())) {
+            fields.add("major");
+        }
+        if (!Objects.equals(before.getGpa(), after.getGpa())) {
+            fields.add("gpa");
+        }
+        if (before.getStatus() != after.getStatus()) {
+            fields.add("status");
+        }
+        return String.join(",", fields);
+    }
+}
@@ -0,0 +1,51 @@
+package octguy.demospringboot.repository;
+
+import octguy.demospringboot.model.ArchivedStudent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedStudentRepository extends JpaRepository<ArchivedStudent, Long> {
+
+    @Query("SELECT a FROM ArchivedStudent a WHERE " +
+           "(:keyword IS NULL OR LOWER(a.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(a.email) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND (:major IS NULL OR LOWER(a.major) = LOWER(:major)) " +
+           "AND (:minGpa IS NULL OR a.gpa >= :minGpa) " +
+           "AND (:maxGpa IS NULL OR a.gpa <= :maxGpa)")
+    Page<ArchivedStudent> search(@Param("keyword") String keyword, @Param("major") String major,
+                                 @Param("minGpa") Double minGpa, @Param("maxGpa") Double maxGpa,
+                                 Pageable pageable);
+
+    long countByDeletedTrue();
+
+    /**
+     * Copies the given students from {@code students}, keeping their ids.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO students_archive (id, name, email, major, gpa, status, deleted, " +
+           "created_at, updated_at, archived_at) " +
+           "SELECT id, name, email, major, gpa, status, :deleted, created_at, updated_at, :archivedAt " +
+           "FROM students WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromStudents(@Param("ids") Collection<Long> ids, @Param("deleted") boolean deleted,
+                         @Param("archivedAt") Instant archivedAt);
+
+    /**
+     * Copies an archived student back into {@code students} under its id, active again.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO students (id, name, email, major, gpa, status, created_at, updated_at) " +
+           "SELECT id, name, email, major, gpa, 'ACTIVE', created_at, :updatedAt " +
+           "FROM students_archive WHERE id = :id",
+           nativeQuery = true)
+    int copyToStudents(@Param("id") long id, @Param("updatedAt") Instant updatedAt);
+}
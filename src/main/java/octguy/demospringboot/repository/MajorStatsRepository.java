@@ -0,0 +1,81 @@
+package octguy.demospringboot.repository;
+
+import octguy.demospringboot.model.MajorStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MajorStatsRepository extends JpaRepository<MajorStats, String> {
+    
+    List<MajorStats> findByStudentCountGreaterThanOrderByMajor(long studentCount);
+    
+    @Query("SELECT m.major FROM MajorStats m WHERE m.studentCount > 0 ORDER BY m.major")
+    List<String> findMajorsWithStudents();
+    
+    @Modifying
+    @Query(value = "MERGE INTO major_stats t " +
+           "USING (SELECT CAST(:major AS VARCHAR(255)) AS major, CAST(:gpa AS DOUBLE PRECISION) AS gpa) s " +
+           "ON t.major = s.major " +
+           "WHEN MATCHED THEN UPDATE SET student_count = t.student_count + 1, gpa_sum = t.gpa_sum + s.gpa, " +
+           "gpa_sum_squares = t.gpa_sum_squares + s.gpa * s.gpa, " +
+           "min_gpa = LEAST(COALESCE(t.min_gpa, s.gpa), s.gpa), max_gpa = GREATEST(COALESCE(t.max_gpa, s.gpa), s.gpa), " +
+           "excellent_count = t.excellent_count + :excellent, good_count = t.good_count + :good, " +
+           "satisfactory_count = t.satisfactory_count + :satisfactory " +
+           "WHEN NOT MATCHED THEN INSERT (major, student_count, gpa_sum, gpa_sum_squares, min_gpa, max_gpa, " +
+           "excellent_count, good_count, satisfactory_count) " +
+           "VALUES (s.major, 1, s.gpa, s.gpa * s.gpa, s.gpa, s.gpa, :excellent, :good, :satisfactory)",
+           nativeQuery = true)
+    void addStudent(@Param("major") String major, @Param("gpa") double gpa,
+                    @Param("excellent") int excellent, @Param("good") int good, @Param("satisfactory") int satisfactory);
+    
+    // Runs after the student row is flushed away, so min/max are recomputed from what is left
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE major_stats SET student_count = student_count - 1, gpa_sum = gpa_sum - :gpa, " +
+           "gpa_sum_squares = gpa_sum_squares - :gpa * :gpa, " +
+           "min_gpa = CASE WHEN min_gpa < :gpa THEN min_gpa " +
+           "ELSE (SELECT MIN(s.gpa) FROM students s WHERE s.major = :major) END, " +
+           "max_gpa = CASE WHEN max_gpa > :gpa THEN max_gpa " +
+           "ELSE (SELECT MAX(s.gpa) FROM students s WHERE s.major = :major) END, " +
+           "excellent_count = excellent_count - :excellent, good_count = good_count - :good, " +
+           "satisfactory_count = satisfactory_count - :satisfactory " +
+           "WHERE major = :major",
+           nativeQuery = true)
+    void removeStudent(@Param("major") String major, @Param("gpa") double gpa,
+                       @Param("excellent") int excellent, @Param("good") int good, @Param("satisfactory") int satisfactory);
+    
+    // Subtracts students already moved from students to students_archive, one statement per batch
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE major_stats t SET " +
+           "student_count = t.student_count - (SELECT COUNT(*) FROM students_archive a WHERE a.id IN (:ids) AND a.major = t.major), " +
+           "gpa_sum = t.gpa_sum - (SELECT SUM(a.gpa) FROM students_archive a WHERE a.id IN (:ids) AND a.major = t.major), " +
+           "gpa_sum_squares = t.gpa_sum_squares - (SELECT SUM(a.gpa * a.gpa) FROM students_archive a WHERE a.id IN (:ids) AND a.major = t.major), " +
+           "min_gpa = (SELECT MIN(s.gpa) FROM students s WHERE s.major = t.major), " +
+           "max_gpa = (SELECT MAX(s.gpa) FROM students s WHERE s.major = t.major), " +
+           "excellent_count = t.excellent_count - (SELECT COUNT(*) FROM students_archive a WHERE a.id IN (:ids) AND a.major = t.major AND a.gpa >= 3.5), " +
+           "good_count = t.good_count - (SELECT COUNT(*) FROM students_archive a WHERE a.id IN (:ids) AND a.major = t.major AND a.gpa >= 3.0 AND a.gpa < 3.5), " +
+           "satisfactory_count = t.satisfactory_count - (SELECT COUNT(*) FROM students_archive a WHERE a.id IN (:ids) AND a.major = t.major AND a.gpa < 3.0) " +
+           "WHERE t.major IN (SELECT a.major FROM students_archive a WHERE a.id IN (:ids))",
+           nativeQuery = true)
+    void removeArchived(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query(value = "DELETE FROM major_stats", nativeQuery = true)
+    void deleteAllRows();
+    
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO major_stats (major, student_count, gpa_sum, gpa_sum_squares, min_gpa, max_gpa, " +
+           "excellent_count, good_count, satisfactory_count) " +
+           "SELECT major, COUNT(*), SUM(gpa), SUM(gpa * gpa), MIN(gpa), MAX(gpa), " +
+           "SUM(CASE WHEN gpa >= 3.5 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN gpa >= 3.0 AND gpa < 3.5 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN gpa < 3.0 THEN 1 ELSE 0 END) " +
+           "FROM students GROUP BY major",
+           nativeQuery = true)
+    void rebuildFromStudents();
+}
@@ -0,0 +1,40 @@
+package octguy.demospringboot.repository;
+
+import octguy.demospringboot.model.OutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEntryRepository extends JpaRepository<OutboxEntry, Long> {
+    
+    List<OutboxEntry> findBySequenceGreaterThanOrderBySequence(long sequence, Limit limit);
+    
+    List<OutboxEntry> findBySequenceInOrderBySequence(Collection<Long> sequences);
+    
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM OutboxEntry e")
+    long findLastSequence();
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+    
+    /**
+     * Deletions of the given students, read from {@code students_archive}, in id order.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO student_outbox (origin, student_id, operation, changed_fields, " +
+           "name, email, major, gpa, status, created_at) " +
+           "SELECT :origin, id, 'DELETED', :changedFields, name, email, major, gpa, status, :createdAt " +
+           "FROM students_archive WHERE id IN (:ids) ORDER BY id",
+           nativeQuery = true)
+    int insertDeletedFromArchive(@Param("ids") Collection<Long> ids, @Param("origin") String origin,
+                                 @Param("changedFields") String changedFields, @Param("createdAt") Instant createdAt);
+}
@@ -1,13 +1,19 @@
 package octguy.demospringboot.repository;
 
+import jakarta.persistence.LockModeType;
 import octguy.demospringboot.model.Student;
+import octguy.demospringboot.model.StudentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,4 +29,25 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Page<Student> searchByNameOrEmail(@Param("keyword") String keyword, Pageable pageable);
     
     Page<Student> findAll(Pageable pageable);
+    
+    List<Student> findTop5ByOrderByGpaDescIdAsc();
+    
+    /**
+     * Students changed after the position ({@code since}, {@code afterId}) in (updatedAt, id)
+     * order, up to and including {@code upTo}; served by the index on {@code updated_at}.
+     */
+    @Query("SELECT s FROM Student s WHERE (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) " +
+           "AND s.updatedAt <= :upTo ORDER BY s.updatedAt, s.id")
+    List<Student> findChangedSince(@Param("since") Instant since, @Param("afterId") long afterId,
+                                   @Param("upTo") Instant upTo, Pageable pageable);
+    
+    /**
+     * Students in one of {@code statuses} not changed since {@code cutoff}, locked until the
+     * transaction ends so that they cannot change while they are moved to the archive; served by
+     * the index on ({@code status}, {@code updated_at}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.status IN :statuses AND s.updatedAt < :cutoff ORDER BY s.updatedAt, s.id")
+    List<Student> findArchivable(@Param("statuses") Collection<StudentStatus> statuses,
+                                 @Param("cutoff") Instant cutoff, Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package octguy.demospringboot.repository;
+
+import octguy.demospringboot.model.StudentTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentTombstoneRepository extends JpaRepository<StudentTombstone, Long> {
+    
+    @Query("SELECT t.studentId FROM StudentTombstone t WHERE t.deletedAt > :after AND t.deletedAt <= :upTo ORDER BY t.deletedAt, t.id")
+    List<Long> findStudentIdsDeletedBetween(@Param("after") Instant after, @Param("upTo") Instant upTo);
+    
+    @Modifying
+    @Query("DELETE FROM StudentTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") Instant cutoff);
+    
+    /**
+     * Tombstones for the given students, read from {@code students_archive}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO student_tombstones (student_id, email, deleted_at) " +
+           "SELECT id, email, :deletedAt FROM students_archive WHERE id IN (:ids)",
+           nativeQuery = true)
+    int insertForArchived(@Param("ids") Collection<Long> ids, @Param("deletedAt") Instant deletedAt);
+    
+    @Modifying
+    @Query("DELETE FROM StudentTombstone t WHERE t.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") long studentId);
+}
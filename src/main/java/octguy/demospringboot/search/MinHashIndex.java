@@ -0,0 +1,300 @@
+package octguy.demospringboot.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Locality-sensitive index of students by name and email. Each student is reduced to the set of
+ * character bigrams of its normalized name and email local part, summarised by a MinHash
+ * signature of {@value #BANDS} x {@value #ROWS} values; students sharing all values of any band
+ * land in the same bucket of that band. Two students whose bigram sets have Jaccard similarity
+ * {@code s} share a bucket with probability {@code 1 - (1 - s^ROWS)^BANDS}: about 0.9 at 0.6,
+ * 0.25 at 0.3 and 0.08 at 0.2, so a lookup inspects a handful of likely matches instead of
+ * every student.
+ * <p>
+ * Buckets hold ids in one open-addressing table per band: 12 bytes per student and band, with
+ * at most three quarters of the slots in use. Not thread-safe.
+ */
+public final class MinHashIndex {
+
+    public static final int BANDS = 10;
+    public static final int ROWS = 3;
+
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final BandTable[] bands = new BandTable[BANDS];
+    private int size;
+
+    public MinHashIndex(int expectedSize) {
+        for (int b = 0; b < BANDS; b++) {
+            bands[b] = new BandTable(expectedSize);
+        }
+    }
+
+    public void add(long id, String name, String email) {
+        int[] keys = bandKeys(name, email);
+        if (keys == null) {
+            return;
+        }
+        for (int b = 0; b < BANDS; b++) {
+            bands[b].add(keys[b], id);
+        }
+        size++;
+    }
+
+    /**
+     * Removes a student added with the same id, name and email; anything else is ignored.
+     */
+    public void remove(long id, String name, String email) {
+        int[] keys = bandKeys(name, email);
+        if (keys == null) {
+            return;
+        }
+        boolean removed = false;
+        for (int b = 0; b < BANDS; b++) {
+            removed |= bands[b].remove(keys[b], id);
+        }
+        if (removed) {
+            size--;
+        }
+    }
+
+    /**
+     * Ids sharing at least one band with the given name and email, those sharing the most bands
+     * first, at most {@code limit} of them.
+     */
+    public List<Long> candidates(String name, String email, int limit) {
+        int[] keys = bandKeys(name, email);
+        if (keys == null || limit < 1) {
+            return List.of();
+        }
+        Map<Long, Integer> shared = new HashMap<>();
+        for (int b = 0; b < BANDS; b++) {
+            bands[b].forEach(keys[b], id -> shared.merge(id, 1, Integer::sum));
+        }
+        return shared.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Exact Jaccard similarity of the two students' bigram sets, between 0 and 1.
+     */
+    public static double similarity(String name1, String email1, String name2, String email2) {
+        int[] a = shingles(name1, email1);
+        int[] b = shingles(name2, email2);
+        if (a.length == 0 && b.length == 0) {
+            return 0;
+        }
+        int common = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /**
+     * Lower-case letters and digits of the name's words in sorted order (so "Doe, John" equals
+     * "John Doe"), accents removed.
+     */
+    static String normalizeName(String name) {
+        String[] words = strip(name).split("[^a-z0-9]+");
+        Arrays.sort(words);
+        return String.join(" ", words).trim();
+    }
+
+    /**
+     * The local part of the address without a {@code +tag}, letters and digits only, so
+     * "John.Doe+work@x" and "johndoe@y" are the same.
+     */
+    static String normalizeEmail(String email) {
+        String local = strip(email);
+        int at = local.indexOf('@');
+        if (at >= 0) {
+            local = local.substring(0, at);
+        }
+        int plus = local.indexOf('+');
+        if (plus >= 0) {
+            local = local.substring(0, plus);
+        }
+        return local.replaceAll("[^a-z0-9]", "");
+    }
+
+    /**
+     * Sorted, distinct hashes of the bigrams of " name " and " email " (padded so that first and
+     * last letters count), tagged by field so that a name bigram never equals an email bigram.
+     */
+    static int[] shingles(String name, String email) {
+        String n = normalizeName(name);
+        String e = normalizeEmail(email);
+        int[] shingles = new int[n.length() + e.length() + 2];
+        int count = bigrams(' ' + n + ' ', 1, shingles, 0);
+        count = bigrams(' ' + e + ' ', 2, shingles, count);
+        int[] sorted = Arrays.copyOf(shingles, count);
+        Arrays.sort(sorted);
+        return Arrays.stream(sorted).distinct().toArray();
+    }
+
+    private static int bigrams(String padded, int field, int[] into, int at) {
+        if (padded.isBlank()) {
+            return at;
+        }
+        for (int i = 0; i + 1 < padded.length(); i++) {
+            into[at++] = field << 30 | padded.charAt(i) << 15 | padded.charAt(i + 1);
+        }
+        return at;
+    }
+
+    /**
+     * One key per band: a hash of that band's {@value #ROWS} MinHash values, or null when the
+     * student has nothing to compare.
+     */
+    private static int[] bandKeys(String name, String email) {
+        int[] shingles = shingles(name, email);
+        if (shingles.length == 0) {
+            return null;
+        }
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int h = 0; h < HASHES; h++) {
+                signature[h] = Math.min(signature[h], mix(shingle ^ SEEDS[h]));
+            }
+        }
+        int[] keys = new int[BANDS];
+        for (int b = 0; b < BANDS; b++) {
+            long key = b;
+            for (int r = 0; r < ROWS; r++) {
+                key = mix(key * 31 + signature[b * ROWS + r]);
+            }
+            keys[b] = (int) (key ^ key >>> 32);
+        }
+        return keys;
+    }
+
+    private static String strip(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Multimap from bucket key to student ids with linear probing; every (key, id) pair has its
+     * own slot. Ids are positive, 0 marks a free slot and -1 a removed one.
+     */
+    private static final class BandTable {
+
+        private static final long FREE = 0;
+        private static final long REMOVED = -1;
+
+        private int[] keys;
+        private long[] ids;
+        private int used; // live and removed slots
+
+        BandTable(int expectedSize) {
+            allocate(Math.max(16, expectedSize));
+        }
+
+        void add(int key, long id) {
+            if ((used + 1) * 4L > keys.length * 3L) {
+                rehash();
+            }
+            int i = slot(key);
+            while (ids[i] != FREE) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            keys[i] = key;
+            ids[i] = id;
+            used++;
+        }
+
+        boolean remove(int key, long id) {
+            for (int i = slot(key); ids[i] != FREE; i = (i + 1) & (keys.length - 1)) {
+                if (ids[i] == id && keys[i] == key) {
+                    ids[i] = REMOVED;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void forEach(int key, LongConsumer action) {
+            for (int i = slot(key); ids[i] != FREE; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key && ids[i] != REMOVED) {
+                    action.accept(ids[i]);
+                }
+            }
+        }
+
+        private int slot(int key) {
+            return (int) mix(key) & (keys.length - 1);
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            long[] oldIds = ids;
+            int live = 0;
+            for (long id : oldIds) {
+                if (id > 0) {
+                    live++;
+                }
+            }
+            allocate(Math.max(16, live * 2));
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] > 0) {
+                    add(oldKeys[i], oldIds[i]);
+                }
+            }
+        }
+
+        private void allocate(int entries) {
+            int capacity = Integer.highestOneBit(Math.max(16, entries * 4 / 3) - 1) << 1;
+            keys = new int[capacity];
+            ids = new long[capacity];
+            used = 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package octguy.demospringboot.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.NearDuplicate;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds existing students that probably are the same person as a new one, e.g. "Jon Doe
+ * jon.doe@x" and "John Doe john.doe@x". The {@link MinHashIndex} narrows the table down to a
+ * few candidates, which are then loaded and compared exactly. Like the typeahead indexes, it is
+ * filled in one pass once the application is ready and kept current from {@link StudentChangedEvent}s.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearDuplicateService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentRepository studentRepository;
+
+    @Value("${app.near-duplicates.threshold:0.6}")
+    private double threshold;
+
+    @Value("${app.near-duplicates.max-candidates:16}")
+    private int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MinHashIndex index = new MinHashIndex(16);
+
+    @EventListener({ApplicationReadyEvent.class, StudentsResyncEvent.class})
+    public void load() {
+        long started = System.nanoTime();
+        // held across the scan so a change committing meanwhile is applied after it, not overwritten by it
+        lock.writeLock().lock();
+        try {
+            Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class);
+            index = new MinHashIndex(count == null ? 16 : count);
+            jdbcTemplate.query("SELECT id, name, email FROM students", (RowCallbackHandler) rs ->
+                    index.add(rs.getLong("id"), rs.getString("name"), rs.getString("email")));
+            log.info("Near-duplicate index loaded: {} students in {} ms", index.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.type()) {
+                case CREATED -> add(event.student());
+                case UPDATED -> {
+                    remove(event.previous());
+                    add(event.student());
+                }
+                case DELETED -> remove(event.student());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The existing student most similar to {@code student} by name and email, if any reaches the
+     * configured threshold. Students with the very same email are left to the uniqueness check.
+     */
+    public Optional<NearDuplicate> findMostSimilar(Student student) {
+        List<Long> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = index.candidates(student.getName(), student.getEmail(), maxCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return studentRepository.findAllById(candidates).stream()
+                .filter(existing -> !existing.getId().equals(student.getId())
+                        && !existing.getEmail().equalsIgnoreCase(student.getEmail()))
+                .map(existing -> NearDuplicate.builder()
+                        .studentId(existing.getId())
+                        .name(existing.getName())
+                        .email(existing.getEmail())
+                        .similarity(MinHashIndex.similarity(student.getName(), student.getEmail(),
+                                existing.getName(), existing.getEmail()))
+                        .build())
+                .filter(match -> match.getSimilarity() >= threshold)
+                .max(Comparator.comparingDouble(NearDuplicate::getSimilarity));
+    }
+
+    private void add(Student student) {
+        index.add(student.getId(), student.getName(), student.getEmail());
+    }
+
+    private void remove(Student student) {
+        index.remove(student.getId(), student.getName(), student.getEmail());
+    }
+}
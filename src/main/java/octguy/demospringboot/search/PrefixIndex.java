@@ -0,0 +1,208 @@
+package octguy.demospringboot.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive prefix lookup over a multiset of strings, returning the most frequent
+ * completions first.
+ * <p>
+ * Terms live in a sorted array with an argmax segment tree over their weights: a prefix is a
+ * contiguous range found by binary search, and the top k are pulled out of it best-first in
+ * O(k log n). Weight changes of known terms are point updates; new terms go to a small sorted
+ * delta that is folded into the array once it exceeds {@code rebuildThreshold}.
+ * <p>
+ * Not thread-safe; {@link TypeaheadService} guards its indexes.
+ */
+public final class PrefixIndex {
+
+    private static final class Term {
+        final String value;
+        int weight;
+
+        Term(String value) {
+            this.value = value;
+        }
+    }
+
+    private record Candidate(String key, String value, int weight) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::weight).reversed()
+            .thenComparing(Candidate::key);
+
+    private final int rebuildThreshold;
+    private String[] keys = new String[0];
+    private String[] values = new String[0];
+    private int[] weights = new int[0];
+    private int[] tree = new int[0]; // tree[size + i] = i; inner nodes hold the argmax of their children
+    private final TreeMap<String, Term> delta = new TreeMap<>();
+
+    public PrefixIndex(int rebuildThreshold) {
+        this.rebuildThreshold = rebuildThreshold;
+    }
+
+    public void add(String value) {
+        String key = key(value);
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            weights[index]++;
+            update(index);
+            return;
+        }
+        delta.computeIfAbsent(key, k -> new Term(value)).weight++;
+        if (delta.size() > rebuildThreshold) {
+            rebuild();
+        }
+    }
+
+    public void remove(String value) {
+        String key = key(value);
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            if (weights[index] > 0) {
+                weights[index]--;
+                update(index);
+            }
+            return;
+        }
+        Term term = delta.get(key);
+        if (term != null && --term.weight <= 0) {
+            delta.remove(key);
+        }
+    }
+
+    /**
+     * Up to {@code limit} distinct values starting with {@code prefix} (ignoring case), most
+     * frequent first, ties in alphabetical order.
+     */
+    public List<String> top(String prefix, int limit) {
+        String from = key(prefix);
+        String to = from + Character.MAX_VALUE;
+        List<Candidate> candidates = new ArrayList<>(2 * limit);
+
+        int low = lowerBound(from);
+        int high = lowerBound(to);
+        if (low < high) {
+            // ranges ordered by the weight of their best term
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Integer.compare(weights[b[2]], weights[a[2]]));
+            ranges.add(new int[]{low, high, argmax(low, high)});
+            while (!ranges.isEmpty() && candidates.size() < limit) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                if (weights[best] == 0) {
+                    break;
+                }
+                candidates.add(new Candidate(keys[best], values[best], weights[best]));
+                if (range[0] < best) {
+                    ranges.add(new int[]{range[0], best, argmax(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[]{best + 1, range[1], argmax(best + 1, range[1])});
+                }
+            }
+        }
+
+        for (Map.Entry<String, Term> entry : delta.subMap(from, to).entrySet()) {
+            candidates.add(new Candidate(entry.getKey(), entry.getValue().value, entry.getValue().weight));
+        }
+
+        candidates.sort(BEST_FIRST);
+        List<String> top = new ArrayList<>(limit);
+        for (int i = 0; i < candidates.size() && i < limit; i++) {
+            top.add(candidates.get(i).value());
+        }
+        return top;
+    }
+
+    /**
+     * Folds the delta into the sorted array and drops terms whose weight reached zero.
+     */
+    public void rebuild() {
+        int capacity = keys.length + delta.size();
+        String[] nextKeys = new String[capacity];
+        String[] nextValues = new String[capacity];
+        int[] nextWeights = new int[capacity];
+        int size = 0;
+        int index = 0;
+        for (Map.Entry<String, Term> entry : delta.entrySet()) {
+            for (; index < keys.length && keys[index].compareTo(entry.getKey()) < 0; index++) {
+                if (weights[index] > 0) {
+                    nextKeys[size] = keys[index];
+                    nextValues[size] = values[index];
+                    nextWeights[size++] = weights[index];
+                }
+            }
+            nextKeys[size] = entry.getKey();
+            nextValues[size] = entry.getValue().value;
+            nextWeights[size++] = entry.getValue().weight;
+        }
+        for (; index < keys.length; index++) {
+            if (weights[index] > 0) {
+                nextKeys[size] = keys[index];
+                nextValues[size] = values[index];
+                nextWeights[size++] = weights[index];
+            }
+        }
+
+        keys = Arrays.copyOf(nextKeys, size);
+        values = Arrays.copyOf(nextValues, size);
+        weights = Arrays.copyOf(nextWeights, size);
+        delta.clear();
+        tree = new int[2 * size];
+        for (int i = 0; i < size; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public int size() {
+        return keys.length + delta.size();
+    }
+
+    private void update(int index) {
+        for (int node = (index + keys.length) >> 1; node > 0; node >>= 1) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Index of the heaviest term in {@code [from, to)}, the leftmost on ties.
+     */
+    private int argmax(int from, int to) {
+        int best = from;
+        for (int low = from + keys.length, high = to + keys.length; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = better(best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = better(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (weights[a] != weights[b]) {
+            return weights[a] > weights[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
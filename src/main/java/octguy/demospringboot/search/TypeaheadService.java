@@ -0,0 +1,109 @@
+package octguy.demospringboot.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.Suggestions;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import octguy.demospringboot.model.Student;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix suggestions for the student search box and major filter, weighted by how many students
+ * share a value. The indexes are filled in one pass once the application is ready and kept
+ * current from the {@link StudentChangedEvent}s published by the {@code StudentService} write paths.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TypeaheadService {
+
+    public static final int MAX_LIMIT = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.typeahead.rebuild-threshold:10000}")
+    private int rebuildThreshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixIndex names = new PrefixIndex(Integer.MAX_VALUE);
+    private PrefixIndex emails = new PrefixIndex(Integer.MAX_VALUE);
+    private PrefixIndex majors = new PrefixIndex(Integer.MAX_VALUE);
+
+    @EventListener({ApplicationReadyEvent.class, StudentsResyncEvent.class})
+    public void load() {
+        long started = System.nanoTime();
+        // held across the scan so a change committing meanwhile is applied after it, not overwritten by it
+        lock.writeLock().lock();
+        try {
+            names = new PrefixIndex(rebuildThreshold);
+            emails = new PrefixIndex(rebuildThreshold);
+            majors = new PrefixIndex(rebuildThreshold);
+            jdbcTemplate.query("SELECT name, email, major FROM students", (RowCallbackHandler) rs -> {
+                names.add(rs.getString("name"));
+                emails.add(rs.getString("email"));
+                majors.add(rs.getString("major"));
+            });
+            names.rebuild();
+            emails.rebuild();
+            majors.rebuild();
+            log.info("Typeahead indexes loaded: {} names, {} emails, {} majors in {} ms", names.size(),
+                    emails.size(), majors.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.type()) {
+                case CREATED -> add(event.student());
+                case UPDATED -> {
+                    remove(event.previous());
+                    add(event.student());
+                }
+                case DELETED -> remove(event.student());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Suggestions suggest(String prefix, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String trimmed = prefix == null ? "" : prefix.trim();
+        lock.readLock().lock();
+        try {
+            return Suggestions.builder()
+                    .names(names.top(trimmed, k))
+                    .emails(emails.top(trimmed, k))
+                    .majors(majors.top(trimmed, k))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Student student) {
+        names.add(student.getName());
+        emails.add(student.getEmail());
+        majors.add(student.getMajor());
+    }
+
+    private void remove(Student student) {
+        names.remove(student.getName());
+        emails.remove(student.getEmail());
+        majors.remove(student.getMajor());
+    }
+}
@@ -0,0 +1,34 @@
+package octguy.demospringboot.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serializable;
+
+/**
+ * What the views need to know about the signed-in user, resolved once per login: the name shown
+ * in the navbar and the roles as a bitset. Immutable, and kept in the HTTP session by
+ * {@link ViewerAdvice}.
+ */
+public record Viewer(String username, String displayName, int roles) implements Serializable {
+
+    public static Viewer of(Authentication authentication) {
+        int roles = 0;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            roles |= ViewerRole.bitOf(authority.getAuthority());
+        }
+        return new Viewer(authentication.getName(), authentication.getName(), roles);
+    }
+
+    public boolean hasRole(ViewerRole role) {
+        return (roles & role.bit()) != 0;
+    }
+
+    public boolean isAdmin() {
+        return hasRole(ViewerRole.ADMIN);
+    }
+
+    public boolean isUser() {
+        return hasRole(ViewerRole.USER);
+    }
+}
@@ -0,0 +1,41 @@
+package octguy.demospringboot.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import octguy.demospringboot.controller.DashboardController;
+import octguy.demospringboot.controller.StudentController;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+/**
+ * Adds the signed-in {@link Viewer} to the model of every page as {@code viewer}, so templates
+ * check {@code ${viewer.admin}} instead of evaluating a security expression per element. The
+ * viewer is built on the first page after login and read back from the session afterwards;
+ * logging out invalidates the session and with it the viewer.
+ */
+@ControllerAdvice(assignableTypes = {StudentController.class, DashboardController.class})
+public class ViewerAdvice {
+
+    static final String SESSION_ATTRIBUTE = Viewer.class.getName();
+
+    @ModelAttribute("viewer")
+    public Viewer viewer(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof Viewer viewer
+                && viewer.username().equals(authentication.getName())) {
+            return viewer;
+        }
+        Viewer viewer = Viewer.of(authentication);
+        if (session != null) {
+            session.setAttribute(SESSION_ATTRIBUTE, viewer);
+        }
+        return viewer;
+    }
+}
@@ -0,0 +1,27 @@
+package octguy.demospringboot.security;
+
+/**
+ * Roles a {@link Viewer} can hold; each maps to one bit of {@link Viewer#roles()}.
+ */
+public enum ViewerRole {
+    ADMIN,
+    USER;
+
+    private final String authority = "ROLE_" + name();
+
+    int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * The bit of a granted authority such as {@code ROLE_ADMIN}, or 0 for anything else.
+     */
+    static int bitOf(String authority) {
+        for (ViewerRole role : values()) {
+            if (role.authority.equals(authority)) {
+                return role.bit();
+            }
+        }
+        return 0;
+    }
+}
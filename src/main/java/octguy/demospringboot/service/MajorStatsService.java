@@ -0,0 +1,211 @@
+package octguy.demospringboot.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.MajorSummary;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import octguy.demospringboot.model.MajorStats;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.MajorStatsRepository;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code major_stats} table. {@link #recordAdded} and {@link #recordRemoved} join
+ * the caller's transaction so the aggregates commit or roll back with the student write; rows
+ * written around {@code StudentService} (seed data, bulk loads) are picked up by
+ * {@link #reconcile()}, which runs at startup and on {@code app.major-stats.reconcile-interval}.
+ * Drift found once the application is serving traffic means the table changed behind every other
+ * in-memory view too, so the reconcile is followed by a {@link StudentsResyncEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MajorStatsService {
+
+    private static final String EXPECTED_SQL = "SELECT major, COUNT(*) AS student_count, SUM(gpa) AS gpa_sum, " +
+            "SUM(gpa * gpa) AS gpa_sum_squares, MIN(gpa) AS min_gpa, MAX(gpa) AS max_gpa, " +
+            "SUM(CASE WHEN gpa >= 3.5 THEN 1 ELSE 0 END) AS excellent_count, " +
+            "SUM(CASE WHEN gpa >= 3.0 AND gpa < 3.5 THEN 1 ELSE 0 END) AS good_count, " +
+            "SUM(CASE WHEN gpa < 3.0 THEN 1 ELSE 0 END) AS satisfactory_count " +
+            "FROM students GROUP BY major";
+    private static final String ACTUAL_SQL = "SELECT * FROM major_stats WHERE student_count > 0";
+    private static final double SUM_TOLERANCE = 1e-9; // relative, so it scales with the number of students
+
+    private static final RowMapper<MajorStats> ROW_MAPPER = (rs, rowNum) -> MajorStats.builder()
+            .major(rs.getString("major"))
+            .studentCount(rs.getLong("student_count"))
+            .gpaSum(rs.getDouble("gpa_sum"))
+            .gpaSumSquares(rs.getDouble("gpa_sum_squares"))
+            .minGpa(rs.getObject("min_gpa", Double.class))
+            .maxGpa(rs.getObject("max_gpa", Double.class))
+            .excellentCount(rs.getLong("excellent_count"))
+            .goodCount(rs.getLong("good_count"))
+            .satisfactoryCount(rs.getLong("satisfactory_count"))
+            .build();
+
+    private final MajorStatsRepository majorStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationAvailability applicationAvailability;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Student student) {
+        double gpa = student.getGpa();
+        majorStatsRepository.addStudent(student.getMajor(), gpa, excellent(gpa), good(gpa), satisfactory(gpa));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Student student) {
+        double gpa = student.getGpa();
+        majorStatsRepository.removeStudent(student.getMajor(), gpa, excellent(gpa), good(gpa), satisfactory(gpa));
+    }
+
+    /**
+     * Subtracts the students with {@code ids}, which must already have been moved from
+     * {@code students} to {@code students_archive} in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordArchived(Collection<Long> ids) {
+        majorStatsRepository.removeArchived(ids);
+    }
+
+    /**
+     * Majors that currently have students, by name.
+     */
+    @Transactional(readOnly = true)
+    public List<MajorStats> getAll() {
+        return majorStatsRepository.findByStudentCountGreaterThanOrderByMajor(0);
+    }
+
+    /**
+     * Names of the majors that currently have students, sorted; one row per major rather than a
+     * scan of {@code students}.
+     */
+    @Transactional(readOnly = true)
+    public List<String> getMajors() {
+        return majorStatsRepository.findMajorsWithStudents();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MajorSummary> getSummaries() {
+        return getAll().stream()
+                .map(MajorStatsService::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recomputes the aggregates from {@code students} and rewrites the table if any major
+     * drifted; returns the number of majors that did. Drift after startup publishes a
+     * {@link StudentsResyncEvent} once the rewrite has committed; at startup the other views load
+     * from the table on {@link ApplicationReadyEvent} anyway.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.major-stats.reconcile-interval:PT10M}",
+            initialDelayString = "${app.major-stats.reconcile-interval:PT10M}")
+    @Transactional
+    public int reconcile() {
+        Map<String, MajorStats> expected = jdbcTemplate.query(EXPECTED_SQL, ROW_MAPPER).stream()
+                .collect(Collectors.toMap(MajorStats::getMajor, stats -> stats));
+        Map<String, MajorStats> actual = new HashMap<>();
+        jdbcTemplate.query(ACTUAL_SQL, ROW_MAPPER).forEach(stats -> actual.put(stats.getMajor(), stats));
+
+        int drifted = 0;
+        for (MajorStats stats : expected.values()) {
+            if (!matches(stats, actual.remove(stats.getMajor()))) {
+                drifted++;
+            }
+        }
+        drifted += actual.size(); // majors without students left
+
+        if (drifted > 0) {
+            majorStatsRepository.deleteAllRows();
+            majorStatsRepository.rebuildFromStudents();
+            log.info("Reconciled major_stats: {} of {} majors rebuilt from students", drifted, expected.size());
+            if (applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                resyncAfterCommit(drifted);
+            }
+        } else {
+            log.debug("major_stats is consistent with students ({} majors)", expected.size());
+        }
+        return drifted;
+    }
+
+    private void resyncAfterCommit(int drifted) {
+        StudentsResyncEvent event = new StudentsResyncEvent("major_stats reconciled " + drifted + " majors");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventPublisher.publishEvent(event);
+            }
+        });
+    }
+
+    static MajorSummary toSummary(MajorStats stats) {
+        long n = stats.getStudentCount();
+        double mean = n == 0 ? 0.0 : stats.getGpaSum() / n;
+        double variance = n == 0 ? 0.0 : Math.max(0.0, stats.getGpaSumSquares() / n - mean * mean);
+        return MajorSummary.builder()
+                .major(stats.getMajor())
+                .students(n)
+                .averageGpa(mean)
+                .stdDevGpa(Math.sqrt(variance))
+                .minGpa(stats.getMinGpa())
+                .maxGpa(stats.getMaxGpa())
+                .build();
+    }
+
+    private static boolean matches(MajorStats expected, MajorStats actual) {
+        return actual != null
+                && expected.getStudentCount() == actual.getStudentCount()
+                && expected.getExcellentCount() == actual.getExcellentCount()
+                && expected.getGoodCount() == actual.getGoodCount()
+                && expected.getSatisfactoryCount() == actual.getSatisfactoryCount()
+                && Objects.equals(expected.getMinGpa(), actual.getMinGpa())
+                && Objects.equals(expected.getMaxGpa(), actual.getMaxGpa())
+                && closeTo(expected.getGpaSum(), actual.getGpaSum())
+                && closeTo(expected.getGpaSumSquares(), actual.getGpaSumSquares());
+    }
+
+    /**
+     * Sums kept incrementally pick up rounding error in proportion to their size, so the
+     * comparison is relative to the recomputed sum rather than absolute.
+     */
+    static boolean closeTo(double expected, double actual) {
+        return Math.abs(expected - actual) <= SUM_TOLERANCE * Math.max(1, Math.abs(expected));
+    }
+
+    private static int excellent(double gpa) {
+        return gpa >= 3.5 ? 1 : 0;
+    }
+
+    private static int good(double gpa) {
+        return gpa >= 3.0 && gpa < 3.5 ? 1 : 0;
+    }
+
+    private static int satisfactory(double gpa) {
+        return gpa < 3.0 ? 1 : 0;
+    }
+}
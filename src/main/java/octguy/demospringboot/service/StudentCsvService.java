@@ -0,0 +1,180 @@
+package octguy.demospringboot.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.ImportResult;
+import octguy.demospringboot.dto.NearDuplicate;
+import octguy.demospringboot.exception.DuplicateEmailException;
+import octguy.demospringboot.jfr.StudentExportEvent;
+import octguy.demospringboot.jfr.StudentImportEvent;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.search.NearDuplicateService;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentCsvService {
+
+    private static final String[] EXPORT_HEADER = {"ID", "Name", "Email", "Major", "GPA"};
+
+    private final StudentService studentService;
+    private final NearDuplicateService nearDuplicateService;
+
+    public ImportResult importFromCSV(InputStream input, long bytes) throws IOException, CsvException {
+        StudentImportEvent event = new StudentImportEvent();
+        event.begin();
+        event.bytes = bytes;
+
+        long phaseStart = System.nanoTime();
+        List<String[]> rows;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            rows = reader.readAll();
+        }
+        event.parseNanos = System.nanoTime() - phaseStart;
+
+        if (rows.isEmpty()) {
+            event.commit();
+            return ImportResult.builder().empty(true).errors(List.of()).possibleDuplicates(List.of()).build();
+        }
+
+        phaseStart = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        List<Student> studentsToImport = parseRows(rows, errors);
+        event.validateNanos = System.nanoTime() - phaseStart;
+
+        phaseStart = System.nanoTime();
+        int successCount = 0;
+        List<String> possibleDuplicates = new ArrayList<>();
+        for (Student student : studentsToImport) {
+            try {
+                // looked up first so the row cannot match itself; rows earlier in the file count
+                Optional<NearDuplicate> match = nearDuplicateService.findMostSimilar(student);
+                studentService.createStudent(student);
+                successCount++;
+                match.ifPresent(m -> possibleDuplicates.add(String.format("%s <%s> resembles #%d %s <%s> (%.0f%%)",
+                        student.getName(), student.getEmail(), m.getStudentId(), m.getName(), m.getEmail(),
+                        m.getSimilarity() * 100)));
+            } catch (DuplicateEmailException e) {
+                errors.add("Duplicate email: " + student.getEmail());
+            }
+        }
+        event.writeNanos = System.nanoTime() - phaseStart;
+
+        event.rows = rows.size() - 1;
+        event.accepted = successCount;
+        event.rejected = errors.size();
+        event.flagged = possibleDuplicates.size();
+        event.commit();
+
+        log.info("Import completed: {} successful, {} errors, {} possible duplicates", successCount, errors.size(),
+                possibleDuplicates.size());
+        return ImportResult.builder()
+                .importedCount(successCount)
+                .errors(errors)
+                .possibleDuplicates(possibleDuplicates)
+                .build();
+    }
+
+    /**
+     * Converts data rows (the first row is the header and is skipped) into unsaved students,
+     * collecting a message for every row that cannot be converted.
+     */
+    public List<Student> parseRows(List<String[]> rows, List<String> errors) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 1; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+
+            if (row.length < 4) {
+                errors.add("Row " + (i + 1) + ": Insufficient columns");
+                continue;
+            }
+
+            try {
+                Student student = new Student();
+                student.setName(row[0].trim());
+                student.setEmail(row[1].trim());
+                student.setMajor(row[2].trim());
+                student.setGpa(Double.parseDouble(row[3].trim()));
+
+                students.add(student);
+            } catch (NumberFormatException e) {
+                errors.add("Row " + (i + 1) + ": Invalid GPA format");
+            } catch (Exception e) {
+                errors.add("Row " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return students;
+    }
+
+    public int exportToCSV(OutputStream output) throws IOException {
+        StudentExportEvent event = new StudentExportEvent();
+        event.begin();
+
+        long phaseStart = System.nanoTime();
+        List<Student> students = studentService.getAllStudentsNoPaging();
+        event.queryNanos = System.nanoTime() - phaseStart;
+
+        phaseStart = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(output);
+        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(counted, StandardCharsets.UTF_8))) {
+            writeStudents(writer, students);
+        }
+        event.writeNanos = System.nanoTime() - phaseStart;
+
+        event.rows = students.size();
+        event.bytes = counted.count;
+        event.commit();
+
+        log.info("Successfully exported {} students to CSV", students.size());
+        return students.size();
+    }
+
+    public void writeStudents(CSVWriter writer, List<Student> students) {
+        writer.writeNext(EXPORT_HEADER);
+        for (Student student : students) {
+            String[] data = {
+                student.getId().toString(),
+                student.getName(),
+                student.getEmail(),
+                student.getMajor(),
+                student.getGpa().toString()
+            };
+            writer.writeNext(data);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
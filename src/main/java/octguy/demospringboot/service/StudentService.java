@@ -1,12 +1,21 @@
 package octguy.demospringboot.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.archive.StudentArchive;
 import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.event.StudentChangedEvent;
 import octguy.demospringboot.exception.DuplicateEmailException;
 import octguy.demospringboot.exception.StudentNotFoundException;
+import octguy.demospringboot.jfr.DashboardStatsEvent;
+import octguy.demospringboot.jfr.StudentFilterEvent;
+import octguy.demospringboot.jfr.StudentSearchEvent;
+import octguy.demospringboot.model.MajorStats;
 import octguy.demospringboot.model.Student;
+import octguy.demospringboot.outbox.StudentOutbox;
 import octguy.demospringboot.repository.StudentRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,32 +27,49 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static octguy.demospringboot.logging.LogMarkers.HOT_PATH;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "student.service", histogram = true)
 public class StudentService {
     
     private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MajorStatsService majorStatsService;
+    private final StudentOutbox studentOutbox;
+    private final StudentArchive studentArchive;
     
     public Page<Student> getAllStudents(int page, int size, String sortBy) {
-        log.debug("Fetching all students - page: {}, size: {}, sortBy: {}", page, size, sortBy);
+        log.info(HOT_PATH, "Fetching all students - page: {}, size: {}, sortBy: {}", page, size, sortBy);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
         Page<Student> students = studentRepository.findAll(pageable);
-        log.debug("Found {} students", students.getTotalElements());
+        log.info(HOT_PATH, "Found {} students", students.getTotalElements());
         return students;
     }
     
     public Page<Student> searchStudents(String keyword, int page, int size, String sortBy) {
-        log.debug("Searching students with keyword: '{}' - page: {}, size: {}, sortBy: {}", keyword, page, size, sortBy);
+        log.info(HOT_PATH, "Searching students with keyword: '{}' - page: {}, size: {}, sortBy: {}", keyword, page, size, sortBy);
+        StudentSearchEvent event = new StudentSearchEvent();
+        event.begin();
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
         Page<Student> students = studentRepository.searchByNameOrEmail(keyword, pageable);
-        log.debug("Found {} students matching keyword '{}'", students.getTotalElements(), keyword);
+        log.info(HOT_PATH, "Found {} students matching keyword '{}'", students.getTotalElements(), keyword);
+        if (event.shouldCommit()) {
+            event.keyword = keyword;
+            event.page = page;
+            event.size = size;
+            event.sortBy = sortBy;
+            event.matches = students.getTotalElements();
+            event.commit();
+        }
         return students;
     }
     
     public Student getStudentById(Long id) {
-        log.debug("Fetching student with id: {}", id);
+        log.info(HOT_PATH, "Fetching student with id: {}", id);
         return studentRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Student not found with id: {}", id);
@@ -61,6 +87,8 @@ public class StudentService {
         }
         
         Student savedStudent = studentRepository.save(student);
+        majorStatsService.recordAdded(savedStudent);
+        publish(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, savedStudent));
         log.info("Student created successfully with id: {}", savedStudent.getId());
         return savedStudent;
     }
@@ -78,12 +106,22 @@ public class StudentService {
             throw new DuplicateEmailException("Student with email " + studentDetails.getEmail() + " already exists");
         }
         
+        Student previous = StudentChangedEvent.copy(student);
         student.setName(studentDetails.getName());
         student.setEmail(studentDetails.getEmail());
         student.setMajor(studentDetails.getMajor());
         student.setGpa(studentDetails.getGpa());
+        if (studentDetails.getStatus() != null) {
+            student.setStatus(studentDetails.getStatus());
+        }
         
         Student updatedStudent = studentRepository.save(student);
+        if (!previous.getMajor().equals(updatedStudent.getMajor())
+                || Double.compare(previous.getGpa(), updatedStudent.getGpa()) != 0) {
+            majorStatsService.recordRemoved(previous);
+            majorStatsService.recordAdded(updatedStudent);
+        }
+        publish(StudentChangedEvent.updated(previous, updatedStudent));
         log.info("Student updated successfully with id: {}", updatedStudent.getId());
         return updatedStudent;
     }
@@ -92,46 +130,38 @@ public class StudentService {
     public void deleteStudent(Long id) {
         log.debug("Deleting student with id: {}", id);
         Student student = getStudentById(id);
-        studentRepository.delete(student);
-        log.info("Student deleted successfully with id: {}", id);
+        studentArchive.moveToArchive(List.of(student), true);
+        log.info("Student deleted successfully with id: {} (kept in the archive)", id);
     }
     
     public List<Student> getAllStudentsNoPaging() {
-        log.debug("Fetching all students without pagination");
+        log.info(HOT_PATH, "Fetching all students without pagination");
         return studentRepository.findAll();
     }
     
     public DashboardStats getDashboardStats() {
-        log.debug("Generating dashboard statistics");
-        
-        List<Student> allStudents = studentRepository.findAll();
+        log.info(HOT_PATH, "Generating dashboard statistics");
+        DashboardStatsEvent event = new DashboardStatsEvent();
+        event.begin();
         
-        long total = allStudents.size();
-        double avgGpa = allStudents.isEmpty() ? 0.0 : 
-            allStudents.stream()
-                .mapToDouble(Student::getGpa)
-                .average()
-                .orElse(0.0);
+        List<MajorStats> majorStats = majorStatsService.getAll();
         
-        long excellent = allStudents.stream()
-            .filter(s -> s.getGpa() >= 3.5)
-            .count();
+        long total = majorStats.stream().mapToLong(MajorStats::getStudentCount).sum();
+        double avgGpa = total == 0 ? 0.0 :
+            majorStats.stream().mapToDouble(MajorStats::getGpaSum).sum() / total;
         
-        long good = allStudents.stream()
-            .filter(s -> s.getGpa() >= 3.0 && s.getGpa() < 3.5)
-            .count();
+        long excellent = majorStats.stream().mapToLong(MajorStats::getExcellentCount).sum();
+        long good = majorStats.stream().mapToLong(MajorStats::getGoodCount).sum();
+        long satisfactory = majorStats.stream().mapToLong(MajorStats::getSatisfactoryCount).sum();
         
-        long satisfactory = allStudents.stream()
-            .filter(s -> s.getGpa() < 3.0)
-            .count();
+        Map<String, Long> byMajor = majorStats.stream()
+            .collect(Collectors.toMap(MajorStats::getMajor, MajorStats::getStudentCount));
         
-        Map<String, Long> byMajor = allStudents.stream()
-            .collect(Collectors.groupingBy(Student::getMajor, Collectors.counting()));
+        List<Student> topPerformers = studentRepository.findTop5ByOrderByGpaDescIdAsc();
         
-        List<Student> topPerformers = allStudents.stream()
-            .sorted((s1, s2) -> Double.compare(s2.getGpa(), s1.getGpa()))
-            .limit(5)
-            .collect(Collectors.toList());
+        event.students = total;
+        event.majors = byMajor.size();
+        event.commit();
         
         return DashboardStats.builder()
             .totalStudents(total)
@@ -145,9 +175,12 @@ public class StudentService {
     }
     
     public Page<Student> filterStudents(String keyword, String major, Double minGpa, Double maxGpa, int page, int size, String sortBy) {
-        log.debug("Filtering students - keyword: {}, major: {}, minGpa: {}, maxGpa: {}", keyword, major, minGpa, maxGpa);
+        log.info(HOT_PATH, "Filtering students - keyword: {}, major: {}, minGpa: {}, maxGpa: {}", keyword, major, minGpa, maxGpa);
+        StudentFilterEvent event = new StudentFilterEvent();
+        event.begin();
         
-        List<Student> filtered = studentRepository.findAll().stream()
+        List<Student> all = studentRepository.findAll();
+        List<Student> filtered = all.stream()
             .filter(s -> keyword == null || keyword.isEmpty() || 
                     s.getName().toLowerCase().contains(keyword.toLowerCase()) ||
                     s.getEmail().toLowerCase().contains(keyword.toLowerCase()))
@@ -161,6 +194,19 @@ public class StudentService {
         int end = Math.min(start + size, filtered.size());
         List<Student> pageContent = filtered.subList(start, end);
         
+        if (event.shouldCommit()) {
+            event.keyword = keyword;
+            event.major = major;
+            event.minGpa = minGpa != null ? minGpa : Double.NaN;
+            event.maxGpa = maxGpa != null ? maxGpa : Double.NaN;
+            event.page = page;
+            event.size = size;
+            event.sortBy = sortBy;
+            event.scanned = all.size();
+            event.matched = filtered.size();
+            event.commit();
+        }
+        
         return new org.springframework.data.domain.PageImpl<>(
             pageContent,
             PageRequest.of(page, size, Sort.by(sortBy)),
@@ -169,10 +215,11 @@ public class StudentService {
     }
     
     public List<String> getAllMajors() {
-        return studentRepository.findAll().stream()
-            .map(Student::getMajor)
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
+        return majorStatsService.getMajors();
+    }
+    
+    private void publish(StudentChangedEvent event) {
+        studentOutbox.append(event);
+        eventPublisher.publishEvent(event);
     }
 }
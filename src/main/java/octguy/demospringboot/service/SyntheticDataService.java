@@ -0,0 +1,110 @@
+package octguy.demospringboot.service;
+
+import com.opencsv.CSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.model.Student;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-loads {@link SyntheticStudentGenerator} rows with batched JDBC inserts spread across
+ * worker threads, bypassing JPA so a million rows take seconds rather than minutes. Rows inserted
+ * once the application is serving traffic are followed by a {@link MajorStatsService#reconcile()},
+ * which resyncs the in-memory views; before that they load from the table at startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataService {
+
+    private static final String INSERT_SQL = "INSERT INTO students (name, email, major, gpa, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MajorStatsService majorStatsService;
+    private final ApplicationAvailability applicationAvailability;
+
+    /**
+     * Inserts the students with generator indexes {@code [fromIndex, fromIndex + count)}.
+     */
+    public void insertStudents(long seed, long fromIndex, long count, int threads, int batchSize) {
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(seed);
+        long started = System.nanoTime();
+        long chunk = (count + threads - 1) / threads;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (long start = fromIndex; start < fromIndex + count; start += chunk) {
+                long end = Math.min(start + chunk, fromIndex + count);
+                long workerStart = start;
+                workers.add(executor.submit(() -> insertRange(generator, workerStart, end, batchSize)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating students", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Inserted {} synthetic students in {} s ({} rows/s, {} threads)",
+                count, String.format("%.2f", seconds), Math.round(count / seconds), threads);
+        if (applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            majorStatsService.reconcile();
+        }
+    }
+
+    /**
+     * Writes the students with generator indexes {@code [fromIndex, fromIndex + count)} in the
+     * import format ({@code Name,Email,Major,GPA}).
+     */
+    public void writeCsv(Path file, long seed, long fromIndex, long count) throws IOException {
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(seed);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             CSVWriter writer = new CSVWriter(out)) {
+            writer.writeNext(new String[]{"Name", "Email", "Major", "GPA"});
+            for (long index = fromIndex; index < fromIndex + count; index++) {
+                Student student = generator.generate(index);
+                writer.writeNext(new String[]{student.getName(), student.getEmail(), student.getMajor(),
+                        student.getGpa().toString()});
+            }
+        }
+        log.info("Wrote {} synthetic students to {}", count, file.toAbsolutePath());
+    }
+
+    private void insertRange(SyntheticStudentGenerator generator, long start, long end, int batchSize) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long index = start; index < end; index++) {
+            Student student = generator.generate(index);
+            batch.add(new Object[]{student.getName(), student.getEmail(), student.getMajor(), student.getGpa()});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+}
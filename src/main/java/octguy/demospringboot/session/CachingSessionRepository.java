@@ -0,0 +1,141 @@
+package octguy.demospringboot.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps recently used sessions in memory in front of the shared JDBC session store, so a burst
+ * of requests in one session (a page and its XHR calls) reads the database once.
+ * <p>
+ * A cached session is a live object that records its own attribute changes, so it is leased to
+ * one request at a time: a concurrent request in the same session loads its own copy from the
+ * store, and the cache entry is retired until it goes stale rather than served with either
+ * copy's changes missing. Entries are served for at most {@code ttl} after they were read
+ * from (or first written to) the store, which bounds how long a change made on another node,
+ * including a logout, can go unseen here.
+ */
+public class CachingSessionRepository<S extends Session> implements FindByIndexNameSessionRepository<S> {
+
+    private static final int SWEEP_EVERY = 1024; // saves between sweeps of stale entries
+
+    private static final class Entry<S> {
+        final S session;
+        final long cachedAt;
+        final AtomicBoolean leased;
+        final AtomicBoolean valid = new AtomicBoolean(true); // false once a second live copy exists
+
+        Entry(S session, long cachedAt, boolean leased) {
+            this.session = session;
+            this.cachedAt = cachedAt;
+            this.leased = new AtomicBoolean(leased);
+        }
+    }
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, Entry<S>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger savesSinceSweep = new AtomicInteger();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingSessionRepository(FindByIndexNameSessionRepository<S> delegate, Duration ttl, int maxSize,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("session.cache.requests").tag("result", "hit")
+                .description("Session lookups by cache outcome")
+                .register(meterRegistry);
+        this.misses = Counter.builder("session.cache.requests").tag("result", "miss")
+                .description("Session lookups by cache outcome")
+                .register(meterRegistry);
+        Gauge.builder("session.cache.size", cache, Map::size)
+                .description("Sessions held in the local cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public S createSession() {
+        return delegate.createSession();
+    }
+
+    @Override
+    public void save(S session) {
+        delegate.save(session);
+        String id = session.getId();
+        Entry<S> entry = cache.get(id);
+        if (entry == null) {
+            // new session, a changed session id, or one loaded while the cache was full
+            if (cache.size() < maxSize) {
+                cache.put(id, new Entry<>(session, System.nanoTime(), false));
+            }
+        } else if (entry.session == session && entry.valid.get()) {
+            entry.leased.set(false);
+        } else {
+            // two live copies were in use: keep the entry, unusable, until it goes stale so that
+            // neither copy is cached with the other's changes missing
+            entry.valid.set(false);
+        }
+        if (savesSinceSweep.incrementAndGet() >= SWEEP_EVERY || cache.size() >= maxSize) {
+            sweep();
+        }
+    }
+
+    @Override
+    public S findById(String id) {
+        Entry<S> entry = cache.get(id);
+        if (entry != null && entry.valid.get() && isFresh(entry) && !entry.session.isExpired()
+                && entry.leased.compareAndSet(false, true)) {
+            hits.increment();
+            return entry.session;
+        }
+        misses.increment();
+        S session = delegate.findById(id);
+        if (session == null) {
+            if (entry != null) {
+                cache.remove(id, entry);
+            }
+            return null;
+        }
+        if (entry == null ? cache.size() < maxSize : !entry.leased.get() || !isFresh(entry)) {
+            cache.put(id, new Entry<>(session, System.nanoTime(), true));
+        } else if (entry != null) {
+            entry.valid.set(false); // leased to a concurrent request in the same session
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        cache.remove(id);
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, S> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        return delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private boolean isFresh(Entry<S> entry) {
+        return System.nanoTime() - entry.cachedAt < ttlNanos;
+    }
+
+    private void sweep() {
+        savesSinceSweep.set(0);
+        cache.values().removeIf(entry -> !isFresh(entry));
+    }
+}
@@ -0,0 +1,14 @@
+package octguy.demospringboot.session;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.session.cache")
+public class SessionCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(5); // also how long a logout on another node may go unnoticed here
+    private int maxSize = 10_000;
+}
@@ -0,0 +1,118 @@
+package octguy.demospringboot.snapshot;
+
+import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.model.Student;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dashboard aggregates (same tiers and top-5 ordering as {@code StudentService#getDashboardStats})
+ * computed in one pass over a snapshot.
+ */
+public final class DashboardScan implements StudentScan<DashboardScan.Totals> {
+
+    static final int TOP = 5;
+
+    private final int majorCount;
+
+    public DashboardScan(int majorCount) {
+        this.majorCount = majorCount;
+    }
+
+    public static DashboardStats dashboardStats(StudentSnapshot snapshot) {
+        Totals totals = snapshot.scan(new DashboardScan(snapshot.majorCount()));
+
+        Map<String, Long> byMajor = new HashMap<>();
+        for (int code = 0; code < totals.byMajor.length; code++) {
+            if (totals.byMajor[code] > 0) {
+                byMajor.put(snapshot.major(code), totals.byMajor[code]);
+            }
+        }
+        List<Student> topPerformers = new ArrayList<>(totals.topCount);
+        for (int i = 0; i < totals.topCount; i++) {
+            topPerformers.add(snapshot.toStudent(totals.topRows[i]));
+        }
+
+        return DashboardStats.builder()
+                .totalStudents(totals.count)
+                .averageGpa(totals.count == 0 ? 0.0 : totals.gpaSum / totals.count)
+                .excellentStudents(totals.excellent)
+                .goodStudents(totals.good)
+                .satisfactoryStudents(totals.count - totals.excellent - totals.good)
+                .studentsByMajor(byMajor)
+                .topPerformers(topPerformers)
+                .build();
+    }
+
+    public static final class Totals {
+        long count;
+        double gpaSum;
+        long excellent;
+        long good;
+        final long[] byMajor;
+        // best first; ties broken by lower id
+        final int[] topRows = new int[TOP];
+        final long[] topIds = new long[TOP];
+        final double[] topGpas = new double[TOP];
+        int topCount;
+
+        Totals(int majorCount) {
+            byMajor = new long[majorCount];
+        }
+
+        void offer(int row, long id, double gpa) {
+            int position = topCount;
+            while (position > 0 && (gpa > topGpas[position - 1]
+                    || (gpa == topGpas[position - 1] && id < topIds[position - 1]))) {
+                position--;
+            }
+            if (position == TOP) {
+                return;
+            }
+            int last = Math.min(topCount, TOP - 1);
+            System.arraycopy(topRows, position, topRows, position + 1, last - position);
+            System.arraycopy(topIds, position, topIds, position + 1, last - position);
+            System.arraycopy(topGpas, position, topGpas, position + 1, last - position);
+            topRows[position] = row;
+            topIds[position] = id;
+            topGpas[position] = gpa;
+            topCount = Math.min(topCount + 1, TOP);
+        }
+    }
+
+    @Override
+    public Totals newAccumulator() {
+        return new Totals(majorCount);
+    }
+
+    @Override
+    public void accept(Totals totals, int row, long id, double gpa, int majorCode) {
+        totals.count++;
+        totals.gpaSum += gpa;
+        if (gpa >= 3.5) {
+            totals.excellent++;
+        } else if (gpa >= 3.0) {
+            totals.good++;
+        }
+        totals.byMajor[majorCode]++;
+        totals.offer(row, id, gpa);
+    }
+
+    @Override
+    public Totals combine(Totals left, Totals right) {
+        left.count += right.count;
+        left.gpaSum += right.gpaSum;
+        left.excellent += right.excellent;
+        left.good += right.good;
+        for (int i = 0; i < left.byMajor.length; i++) {
+            left.byMajor[i] += right.byMajor[i];
+        }
+        for (int i = 0; i < right.topCount; i++) {
+            left.offer(right.topRows[i], right.topIds[i], right.topGpas[i]);
+        }
+        return left;
+    }
+}
@@ -0,0 +1,294 @@
+package octguy.demospringboot.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, memory-mapped columnar copy of the students table, sorted by id.
+ * <p>
+ * File layout (little-endian, every column 8-byte aligned):
+ * <pre>
+ * header   magic, version, rows, majors (int) | arena bytes, max id, watermark (long) | padding to 64
+ * ids      long[rows]
+ * gpas     double[rows]
+ * names    long[rows]    arena offsets
+ * emails   long[rows]    arena offsets
+ * majors   long[majors]  arena offsets of the major dictionary
+ * major    int[rows]     dictionary codes
+ * arena    [int length][UTF-8 bytes]...
+ * </pre>
+ * The watermark is the newest {@code updated_at} among the rows, in epoch microseconds, so a reader
+ * can tell whether the table was updated in place since the file was written, not only whether rows
+ * were added or removed. The mapping is owned by an automatic arena, so it is released once the
+ * last reader drops it.
+ */
+public final class StudentColumns {
+
+    static final int MAGIC = 0x53545543; // "STUC"
+    static final int VERSION = 3;
+    static final long HEADER_BYTES = 64;
+
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfInt ALIGNED_INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final MemorySegment segment;
+    private final int rows;
+    private final long maxId;
+    private final long watermark;
+    private final String[] majors;
+    private final long idsOffset;
+    private final long gpasOffset;
+    private final long namesOffset;
+    private final long emailsOffset;
+    private final long majorCodesOffset;
+
+    private StudentColumns(MemorySegment segment) {
+        if (segment.byteSize() < HEADER_BYTES || segment.get(INT, 0) != MAGIC) {
+            throw new IllegalStateException("Not a student snapshot file");
+        }
+        if (segment.get(INT, 4) != VERSION) {
+            throw new IllegalStateException("Unsupported student snapshot version " + segment.get(INT, 4));
+        }
+        this.segment = segment;
+        this.rows = segment.get(INT, 8);
+        int majorCount = segment.get(INT, 12);
+        this.maxId = segment.get(LONG, 24);
+        this.watermark = segment.get(LONG, 32);
+        this.idsOffset = HEADER_BYTES;
+        this.gpasOffset = idsOffset + 8L * rows;
+        this.namesOffset = gpasOffset + 8L * rows;
+        this.emailsOffset = namesOffset + 8L * rows;
+        long majorRefsOffset = emailsOffset + 8L * rows;
+        this.majorCodesOffset = majorRefsOffset + 8L * majorCount;
+        this.majors = new String[majorCount];
+        for (int i = 0; i < majorCount; i++) {
+            majors[i] = string(segment.get(LONG, majorRefsOffset + 8L * i));
+        }
+    }
+
+    /**
+     * Maps an existing snapshot file read-only.
+     */
+    public static StudentColumns open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new StudentColumns(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto()));
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public long maxId() {
+        return maxId;
+    }
+
+    /**
+     * The newest {@code updated_at} of the rows, see {@link #watermark(Instant)}.
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    /**
+     * An {@code updated_at} value in epoch microseconds, the column's precision; 0 for {@code null}.
+     */
+    public static long watermark(Instant updatedAt) {
+        return updatedAt == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+    }
+
+    /**
+     * The major dictionary; {@link #majorCode(int)} indexes into it.
+     */
+    public String[] majors() {
+        return majors.clone();
+    }
+
+    public long id(int row) {
+        return segment.get(LONG, idsOffset + 8L * row);
+    }
+
+    public double gpa(int row) {
+        return segment.get(DOUBLE, gpasOffset + 8L * row);
+    }
+
+    public int majorCode(int row) {
+        return segment.get(ALIGNED_INT, majorCodesOffset + 4L * row);
+    }
+
+    public String name(int row) {
+        return string(segment.get(LONG, namesOffset + 8L * row));
+    }
+
+    public String email(int row) {
+        return string(segment.get(LONG, emailsOffset + 8L * row));
+    }
+
+    /**
+     * Binary search on the id column; returns the row, or a negative value if the id is absent.
+     */
+    public int rowOf(long id) {
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = id(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private String string(long offset) {
+        int length = segment.get(INT, offset);
+        return new String(segment.asSlice(offset + 4, length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Accumulates rows in ascending id order on the heap, then writes them out in one pass.
+     */
+    public static final class Writer {
+
+        private long[] ids;
+        private double[] gpas;
+        private long[] names;
+        private long[] emails;
+        private int[] majorCodes;
+        private int rows;
+        private long watermark;
+        private final Map<String, Integer> majorDictionary = new HashMap<>();
+        private final List<String> majors = new ArrayList<>();
+        private final ByteArrayOutputStream arena = new ByteArrayOutputStream();
+
+        public Writer(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            ids = new long[capacity];
+            gpas = new double[capacity];
+            names = new long[capacity];
+            emails = new long[capacity];
+            majorCodes = new int[capacity];
+        }
+
+        public Writer add(long id, String name, String email, String major, double gpa) {
+            if (rows > 0 && id <= ids[rows - 1]) {
+                throw new IllegalArgumentException("Rows must be added in ascending id order: " + id);
+            }
+            if (rows == ids.length) {
+                int capacity = rows + (rows >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                gpas = Arrays.copyOf(gpas, capacity);
+                names = Arrays.copyOf(names, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+                majorCodes = Arrays.copyOf(majorCodes, capacity);
+            }
+            ids[rows] = id;
+            gpas[rows] = gpa;
+            names[rows] = append(name);
+            emails[rows] = append(email);
+            majorCodes[rows] = majorDictionary.computeIfAbsent(major, m -> {
+                majors.add(m);
+                return majors.size() - 1;
+            });
+            rows++;
+            return this;
+        }
+
+        /**
+         * Raises the watermark to {@code updatedAt} (in epoch microseconds) if it is newer.
+         */
+        public Writer changedAt(long updatedAt) {
+            watermark = Math.max(watermark, updatedAt);
+            return this;
+        }
+
+        /**
+         * Writes the snapshot to a sibling temporary file and atomically moves it over {@code file}.
+         */
+        public void writeTo(Path file) throws IOException {
+            long[] majorRefs = new long[majors.size()];
+            for (int i = 0; i < majorRefs.length; i++) {
+                majorRefs[i] = append(majors.get(i));
+            }
+            byte[] strings = arena.toByteArray();
+
+            long majorCodesOffset = HEADER_BYTES + 32L * rows + 8L * majorRefs.length;
+            long arenaOffset = (majorCodesOffset + 4L * rows + 7) & ~7L;
+            long size = arenaOffset + strings.length;
+
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Arena writeArena = Arena.ofConfined();
+                 FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, writeArena);
+                out.set(INT, 0, MAGIC);
+                out.set(INT, 4, VERSION);
+                out.set(INT, 8, rows);
+                out.set(INT, 12, majorRefs.length);
+                out.set(LONG, 16, (long) strings.length);
+                out.set(LONG, 24, rows == 0 ? 0 : ids[rows - 1]);
+                out.set(LONG, 32, watermark);
+
+                long offset = HEADER_BYTES;
+                MemorySegment.copy(ids, 0, out, LONG, offset, rows);
+                offset += 8L * rows;
+                MemorySegment.copy(gpas, 0, out, DOUBLE, offset, rows);
+                offset += 8L * rows;
+                MemorySegment.copy(shift(names, arenaOffset), 0, out, LONG, offset, rows);
+                offset += 8L * rows;
+                MemorySegment.copy(shift(emails, arenaOffset), 0, out, LONG, offset, rows);
+                offset += 8L * rows;
+                MemorySegment.copy(shift(majorRefs, arenaOffset), 0, out, LONG, offset, majorRefs.length);
+                MemorySegment.copy(majorCodes, 0, out, ALIGNED_INT, majorCodesOffset, rows);
+                MemorySegment.copy(strings, 0, out, ValueLayout.JAVA_BYTE, arenaOffset, strings.length);
+                out.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private long append(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            long offset = arena.size();
+            arena.write(bytes.length & 0xFF);
+            arena.write((bytes.length >>> 8) & 0xFF);
+            arena.write((bytes.length >>> 16) & 0xFF);
+            arena.write(bytes.length >>> 24);
+            arena.writeBytes(bytes);
+            return offset;
+        }
+
+        private long[] shift(long[] offsets, long by) {
+            long[] shifted = new long[offsets.length];
+            for (int i = 0; i < offsets.length; i++) {
+                shifted[i] = offsets[i] + by;
+            }
+            return shifted;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package octguy.demospringboot.snapshot;
+
+/**
+ * A parallel reduction over the live rows of a {@link StudentSnapshot}. Each worker gets its own
+ * accumulator from {@link #newAccumulator()}; partial results are merged with {@link #combine}.
+ * {@link #accept} must not allocate, it runs once per row.
+ *
+ * @param <A> the mutable accumulator type
+ */
+public interface StudentScan<A> {
+
+    A newAccumulator();
+
+    /**
+     * @param row opaque row reference, usable with {@link StudentSnapshot#name(int)},
+     *            {@link StudentSnapshot#email(int)} and {@link StudentSnapshot#toStudent(int)}
+     */
+    void accept(A accumulator, int row, long id, double gpa, int majorCode);
+
+    A combine(A left, A right);
+}
@@ -0,0 +1,231 @@
+package octguy.demospringboot.snapshot;
+
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.model.Student;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * One immutable generation of the student snapshot: a mapped {@link StudentColumns} base, a
+ * bitmap of base rows superseded by later writes, and a small on-heap overlay holding the
+ * current version of every row written since the base was built. The watermark follows the
+ * newest {@code updatedAt} applied, so a compacted file records how current it is.
+ * <p>
+ * Row references passed to {@link StudentScan#accept} are base rows in {@code [0, base.rows())}
+ * followed by overlay rows.
+ */
+public final class StudentSnapshot {
+
+    private static final int SPLIT_ROWS = 1 << 16;
+
+    private final StudentColumns base;
+    private final long[] superseded;
+    private final int supersededCount;
+    private final Row[] overlay;
+    private final Map<Long, Integer> overlayIndex;
+    private final String[] majors;
+    private final Map<String, Integer> majorCodes;
+    private final long watermark;
+
+    private record Row(long id, String name, String email, int majorCode, double gpa) {
+    }
+
+    private StudentSnapshot(StudentColumns base, long[] superseded, int supersededCount, Row[] overlay,
+                            Map<Long, Integer> overlayIndex, String[] majors, Map<String, Integer> majorCodes,
+                            long watermark) {
+        this.base = base;
+        this.superseded = superseded;
+        this.supersededCount = supersededCount;
+        this.overlay = overlay;
+        this.overlayIndex = overlayIndex;
+        this.majors = majors;
+        this.majorCodes = majorCodes;
+        this.watermark = watermark;
+    }
+
+    public static StudentSnapshot of(StudentColumns base) {
+        String[] majors = base.majors();
+        Map<String, Integer> majorCodes = new HashMap<>();
+        for (int i = 0; i < majors.length; i++) {
+            majorCodes.put(majors[i], i);
+        }
+        return new StudentSnapshot(base, new long[(base.rows() + 63) >>> 6], 0, new Row[0], Map.of(), majors,
+                majorCodes, base.watermark());
+    }
+
+    /**
+     * Returns the next generation with the events applied in order. Applying an event twice is
+     * harmless, so events that raced with the base build can simply be replayed.
+     */
+    public StudentSnapshot apply(List<StudentChangedEvent> events) {
+        long[] nextSuperseded = superseded;
+        int nextSupersededCount = supersededCount;
+        List<Row> rows = new ArrayList<>(Arrays.asList(overlay));
+        Map<Long, Integer> index = new HashMap<>(overlayIndex);
+        List<String> nextMajors = new ArrayList<>(Arrays.asList(majors));
+        Map<String, Integer> nextMajorCodes = new HashMap<>(majorCodes);
+        long nextWatermark = watermark;
+
+        for (StudentChangedEvent event : events) {
+            long id = event.id();
+            int baseRow = base.rowOf(id);
+            if (baseRow >= 0 && !isSuperseded(nextSuperseded, baseRow)) {
+                if (nextSuperseded == superseded) {
+                    nextSuperseded = superseded.clone();
+                }
+                nextSuperseded[baseRow >>> 6] |= 1L << baseRow;
+                nextSupersededCount++;
+            }
+
+            Integer previous = index.remove(id);
+            if (previous != null) {
+                Row last = rows.remove(rows.size() - 1);
+                if (previous < rows.size()) {
+                    rows.set(previous, last);
+                    index.put(last.id(), previous);
+                }
+            }
+
+            if (event.type() != StudentChangedEvent.Type.DELETED) {
+                Student student = event.student();
+                int majorCode = nextMajorCodes.computeIfAbsent(student.getMajor(), major -> {
+                    nextMajors.add(major);
+                    return nextMajors.size() - 1;
+                });
+                index.put(id, rows.size());
+                rows.add(new Row(id, student.getName(), student.getEmail(), majorCode, student.getGpa()));
+                nextWatermark = Math.max(nextWatermark, StudentColumns.watermark(student.getUpdatedAt()));
+            }
+        }
+
+        return new StudentSnapshot(base, nextSuperseded, nextSupersededCount, rows.toArray(Row[]::new), index,
+                nextMajors.toArray(String[]::new), nextMajorCodes, nextWatermark);
+    }
+
+    /**
+     * Live rows: base rows not superseded plus the overlay.
+     */
+    public int size() {
+        return base.rows() - supersededCount + overlay.length;
+    }
+
+    public int overlaySize() {
+        return overlay.length;
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    public String major(int majorCode) {
+        return majors[majorCode];
+    }
+
+    public int majorCount() {
+        return majors.length;
+    }
+
+    public String name(int row) {
+        return row < base.rows() ? base.name(row) : overlay[row - base.rows()].name();
+    }
+
+    public String email(int row) {
+        return row < base.rows() ? base.email(row) : overlay[row - base.rows()].email();
+    }
+
+    public Student toStudent(int row) {
+        if (row < base.rows()) {
+            return new Student(base.id(row), base.name(row), base.email(row), majors[base.majorCode(row)],
+                    base.gpa(row));
+        }
+        Row overlayRow = overlay[row - base.rows()];
+        return new Student(overlayRow.id(), overlayRow.name(), overlayRow.email(), majors[overlayRow.majorCode()],
+                overlayRow.gpa());
+    }
+
+    /**
+     * Runs the scan over every live row. Base rows are split across the common fork-join pool in
+     * chunks of {@value #SPLIT_ROWS}; the overlay is scanned by the calling thread.
+     */
+    public <A> A scan(StudentScan<A> scan) {
+        A result = ForkJoinPool.commonPool().invoke(new ScanTask<>(scan, 0, base.rows()));
+        int baseRows = base.rows();
+        for (int i = 0; i < overlay.length; i++) {
+            Row row = overlay[i];
+            scan.accept(result, baseRows + i, row.id(), row.gpa(), row.majorCode());
+        }
+        return result;
+    }
+
+    /**
+     * Writes the live rows as a new base file, folding the overlay in.
+     */
+    public void writeTo(Path file) throws IOException {
+        Row[] sorted = overlay.clone();
+        Arrays.sort(sorted, Comparator.comparingLong(Row::id));
+        StudentColumns.Writer writer = new StudentColumns.Writer(size()).changedAt(watermark);
+        int next = 0;
+        for (int row = 0; row < base.rows(); row++) {
+            if (isSuperseded(superseded, row)) {
+                continue;
+            }
+            long id = base.id(row);
+            for (; next < sorted.length && sorted[next].id() < id; next++) {
+                add(writer, sorted[next]);
+            }
+            writer.add(id, base.name(row), base.email(row), majors[base.majorCode(row)], base.gpa(row));
+        }
+        for (; next < sorted.length; next++) {
+            add(writer, sorted[next]);
+        }
+        writer.writeTo(file);
+    }
+
+    private void add(StudentColumns.Writer writer, Row row) {
+        writer.add(row.id(), row.name(), row.email(), majors[row.majorCode()], row.gpa());
+    }
+
+    private static boolean isSuperseded(long[] bitmap, int row) {
+        return (bitmap[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private final class ScanTask<A> extends RecursiveTask<A> {
+
+        private final StudentScan<A> scan;
+        private final int from;
+        private final int to;
+
+        ScanTask(StudentScan<A> scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= SPLIT_ROWS) {
+                A accumulator = scan.newAccumulator();
+                for (int row = from; row < to; row++) {
+                    if (!isSuperseded(superseded, row)) {
+                        scan.accept(accumulator, row, base.id(row), base.gpa(row), base.majorCode(row));
+                    }
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(scan, from, middle);
+            left.fork();
+            A right = new ScanTask<>(scan, middle, to).compute();
+            return scan.combine(left.join(), right);
+        }
+    }
+}
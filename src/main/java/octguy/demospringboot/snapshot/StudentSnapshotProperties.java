@@ -0,0 +1,15 @@
+package octguy.demospringboot.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "app.snapshot")
+public class StudentSnapshotProperties {
+    private boolean enabled = false;
+    private Path file = Path.of(System.getProperty("java.io.tmpdir"), "demo-spring-boot", "students.snap");
+    private boolean reloadOnStartup = false; // map the existing file if it still matches the table's row count, max id and newest updated_at
+    private int compactThreshold = 10_000; // overlay rows before the live rows are written out as a new base file
+}
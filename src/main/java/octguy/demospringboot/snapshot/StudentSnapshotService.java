@@ -0,0 +1,172 @@
+package octguy.demospringboot.snapshot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a {@link StudentSnapshot} of the students table for analytics reads. The base file is
+ * built (or remapped) once the application is ready; committed writes are then folded in from
+ * {@link StudentChangedEvent}s, and the overlay is written out as a new base file once it grows
+ * past {@code app.snapshot.compact-threshold} rows and on shutdown.
+ */
+@Service
+@ConditionalOnProperty(name = "app.snapshot.enabled", havingValue = "true")
+@EnableConfigurationProperties(StudentSnapshotProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class StudentSnapshotService {
+
+    private static final String SELECT_ALL = "SELECT id, name, email, major, gpa, updated_at FROM students ORDER BY id";
+
+    private final StudentSnapshotProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Queue<StudentChangedEvent> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile StudentSnapshot snapshot;
+
+    @EventListener({ApplicationReadyEvent.class, StudentsResyncEvent.class})
+    public void load() throws IOException {
+        long started = System.nanoTime();
+        Path file = properties.getFile();
+        StudentColumns columns = null;
+        if (properties.isReloadOnStartup() && Files.exists(file)) {
+            try {
+                columns = StudentColumns.open(file);
+                if (!matchesTable(columns)) {
+                    log.info("Student snapshot {} is stale, rebuilding", file.toAbsolutePath());
+                    columns = null;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Cannot map student snapshot {}, rebuilding: {}", file.toAbsolutePath(), e.getMessage());
+            }
+        }
+        if (columns == null) {
+            columns = build(file);
+        }
+
+        lock.lock();
+        try {
+            snapshot = StudentSnapshot.of(columns);
+        } finally {
+            lock.unlock();
+        }
+        drain();
+        log.info("Student snapshot ready: {} rows in {} ms ({})", columns.rows(),
+                (System.nanoTime() - started) / 1_000_000, file.toAbsolutePath());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        pending.add(event);
+        drain();
+    }
+
+    /**
+     * The latest generation, or empty until the first build has finished.
+     */
+    public Optional<StudentSnapshot> current() {
+        drain();
+        return Optional.ofNullable(snapshot);
+    }
+
+    public Optional<DashboardStats> getDashboardStats() {
+        return current().map(DashboardScan::dashboardStats);
+    }
+
+    @PreDestroy
+    public void persist() {
+        lock.lock();
+        try {
+            drain();
+            if (snapshot != null && snapshot.overlaySize() > 0) {
+                snapshot = compact(snapshot);
+            }
+        } catch (IOException e) {
+            log.warn("Could not persist student snapshot: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies queued events as one batch. Whoever holds the lock re-checks the queue after
+     * releasing it, so a writer that loses the race never strands its event.
+     */
+    private void drain() {
+        while (snapshot != null && !pending.isEmpty() && lock.tryLock()) {
+            try {
+                List<StudentChangedEvent> batch = new ArrayList<>();
+                for (StudentChangedEvent event; (event = pending.poll()) != null; ) {
+                    batch.add(event);
+                }
+                StudentSnapshot next = snapshot.apply(batch);
+                if (next.overlaySize() >= properties.getCompactThreshold()) {
+                    try {
+                        next = compact(next);
+                    } catch (IOException e) {
+                        log.warn("Student snapshot compaction failed, keeping the overlay: {}", e.getMessage());
+                    }
+                }
+                snapshot = next;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private StudentSnapshot compact(StudentSnapshot current) throws IOException {
+        long started = System.nanoTime();
+        current.writeTo(properties.getFile());
+        StudentSnapshot compacted = StudentSnapshot.of(StudentColumns.open(properties.getFile()));
+        log.debug("Compacted student snapshot: {} rows in {} ms", compacted.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return compacted;
+    }
+
+    private StudentColumns build(Path file) throws IOException {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class);
+        StudentColumns.Writer writer = new StudentColumns.Writer(count != null ? count : 0);
+        jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> writer.add(rs.getLong("id"), rs.getString("name"),
+                        rs.getString("email"), rs.getString("major"), rs.getDouble("gpa"))
+                .changedAt(StudentColumns.watermark(rs.getObject("updated_at", Instant.class))));
+        writer.writeTo(file);
+        return StudentColumns.open(file);
+    }
+
+    /**
+     * A file is only reused if the table's row count, highest id and newest {@code updated_at} all
+     * match its header. Every write sets {@code updated_at}, so rows updated in place are caught
+     * without reading them; the three aggregates come from one query over the primary key and the
+     * {@code updated_at} index.
+     */
+    private boolean matchesTable(StudentColumns columns) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(MAX(id), 0), MAX(updated_at) FROM students",
+                (rs, rowNum) -> rs.getLong(1) == columns.rows() && rs.getLong(2) == columns.maxId()
+                        && StudentColumns.watermark(rs.getObject(3, Instant.class)) == columns.watermark()));
+    }
+}
@@ -0,0 +1,92 @@
+package octguy.demospringboot.view;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.event.StudentsResyncEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rendered HTML of page fragments that only depend on student data, reused until the data
+ * version moves on. The version is bumped after every committed student change (local or
+ * replayed from another node) and on a resync; the listener runs after the other change
+ * listeners so the in-memory views a fragment is rendered from are already up to date.
+ * <p>
+ * A page inserts the result with {@code th:utext}; the fragment itself lives in a template under
+ * {@code fragments/} and only sees the variables passed here, not the request's model.
+ */
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(FragmentCacheProperties.class)
+public class FragmentCache {
+
+    private record Rendered(long version, String html) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final FragmentCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Rendered> rendered = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onStudentChanged(StudentChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @EventListener(StudentsResyncEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onResync() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * The HTML of {@code fragment} in {@code template}, rendered with {@code variables} unless a
+     * rendering for the current data version is cached. {@code variables} is only called on a miss.
+     */
+    public String render(String template, String fragment, Supplier<Map<String, Object>> variables) {
+        Locale locale = LocaleContextHolder.getLocale();
+        if (!properties.isEnabled()) {
+            return process(template, fragment, locale, variables.get());
+        }
+        String key = template + "::" + fragment + "::" + locale.toLanguageTag();
+        long current = version.get(); // read before the data, so a concurrent change invalidates the result
+        Rendered cached = rendered.get(key);
+        if (cached != null && cached.version() == current) {
+            meterRegistry.counter("view.fragment.cache.requests", "fragment", fragment, "result", "hit").increment();
+            return cached.html();
+        }
+        meterRegistry.counter("view.fragment.cache.requests", "fragment", fragment, "result", "miss").increment();
+        String html = process(template, fragment, locale, variables.get());
+        if (cached != null || rendered.size() < properties.getMaxEntries()) {
+            rendered.merge(key, new Rendered(current, html),
+                    (previous, next) -> next.version() >= previous.version() ? next : previous);
+        }
+        return html;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    private String process(String template, String fragment, Locale locale, Map<String, Object> variables) {
+        return templateEngine.process(template, Set.of(fragment), new Context(locale, variables));
+    }
+}
@@ -0,0 +1,11 @@
+package octguy.demospringboot.view;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.view.fragment-cache")
+public class FragmentCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 256; // one per fragment and locale; further variants are rendered uncached
+}
@@ -0,0 +1,89 @@
+-- Tables shared by every node; Hibernate only validates them (spring.jpa.hibernate.ddl-auto=validate)
+
+CREATE TABLE students (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    major VARCHAR(255) NOT NULL,
+    gpa DOUBLE PRECISION NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT students_pk PRIMARY KEY (id),
+    CONSTRAINT uk_students_email UNIQUE (email)
+);
+
+CREATE INDEX idx_students_updated_at ON students (updated_at);
+CREATE INDEX idx_students_status_updated_at ON students (status, updated_at);
+
+CREATE TABLE students_archive (
+    id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    major VARCHAR(255) NOT NULL,
+    gpa DOUBLE PRECISION NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT students_archive_pk PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_students_archive_email ON students_archive (email);
+CREATE INDEX idx_students_archive_archived_at ON students_archive (archived_at);
+
+CREATE TABLE major_stats (
+    major VARCHAR(255) NOT NULL,
+    student_count BIGINT NOT NULL,
+    gpa_sum DOUBLE PRECISION NOT NULL,
+    gpa_sum_squares DOUBLE PRECISION NOT NULL,
+    min_gpa DOUBLE PRECISION,
+    max_gpa DOUBLE PRECISION,
+    excellent_count BIGINT NOT NULL,
+    good_count BIGINT NOT NULL,
+    satisfactory_count BIGINT NOT NULL,
+    CONSTRAINT major_stats_pk PRIMARY KEY (major)
+);
+
+CREATE TABLE student_outbox (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    origin VARCHAR(64) NOT NULL,
+    student_id BIGINT NOT NULL,
+    operation VARCHAR(16) NOT NULL,
+    changed_fields VARCHAR(64) NOT NULL,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    major VARCHAR(255),
+    gpa DOUBLE PRECISION,
+    status VARCHAR(16),
+    previous_name VARCHAR(255),
+    previous_email VARCHAR(255),
+    previous_major VARCHAR(255),
+    previous_gpa DOUBLE PRECISION,
+    previous_status VARCHAR(16),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT student_outbox_pk PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_student_outbox_created_at ON student_outbox (created_at);
+
+CREATE TABLE student_tombstones (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    student_id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT student_tombstones_pk PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_student_tombstones_deleted_at ON student_tombstones (deleted_at);
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL,
+    CONSTRAINT users_pk PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
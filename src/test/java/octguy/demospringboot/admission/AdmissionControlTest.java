@@ -0,0 +1,142 @@
+package octguy.demospringboot.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Admission Control Tests")
+class AdmissionControlTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a burst, then ask the caller to wait for the next token")
+    void shouldLimitRateAfterBurst() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+
+        // When
+        long first = bucket.tryTake(0);
+        long second = bucket.tryTake(0);
+        long third = bucket.tryTake(0);
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isPositive().isLessThanOrEqualTo(SECOND);
+        assertThat(bucket.tryTake(SECOND)).isZero();
+        assertThat(bucket.isFull(SECOND)).isFalse();
+        assertThat(bucket.isFull(3 * SECOND)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should turn requests away once the class is busy and its queue is full")
+    void shouldRejectWhenSaturated() throws InterruptedException {
+        // Given
+        CostClassGate gate = new CostClassGate(1, 0, Duration.ofSeconds(1));
+
+        // When
+        boolean first = gate.enter();
+        boolean second = gate.enter();
+        gate.release();
+        boolean third = gate.enter();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(third).isTrue();
+        assertThat(gate.getActive()).isEqualTo(1);
+        assertThat(gate.getWaiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give up on a queued request after the queue timeout")
+    void shouldTimeOutQueuedRequest() throws InterruptedException {
+        // Given
+        CostClassGate gate = new CostClassGate(1, 1, Duration.ofMillis(50));
+        gate.enter();
+
+        // When
+        long started = System.nanoTime();
+        boolean entered = gate.enter();
+
+        // Then
+        assertThat(entered).isFalse();
+        assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(gate.getWaiting()).isZero();
+    }
+
+    static class FilteredListing {
+
+        @Admission(value = CostClass.QUERY, whenParams = {"keyword", "includeArchived"})
+        public String list() {
+            return "students";
+        }
+    }
+
+    private static AdmissionInterceptor interceptor(int maxTrackedUsers, int burst, int perMinute) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxTrackedUsers(maxTrackedUsers);
+        properties.setClasses(Map.of(CostClass.QUERY, new AdmissionProperties.Limits(4, 0, Duration.ofSeconds(1),
+                burst, perMinute)));
+        return new AdmissionInterceptor(properties, new SimpleMeterRegistry());
+    }
+
+    private static boolean admit(AdmissionInterceptor interceptor, String user, String param, String value)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+        request.setRemoteAddr(user);
+        request.setParameter(param, value);
+        HandlerMethod handler = new HandlerMethod(new FilteredListing(), FilteredListing.class.getMethod("list"));
+        boolean admitted = interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+        return admitted;
+    }
+
+    @Test
+    @DisplayName("Should only admit flagged requests when the flag is switched on")
+    void shouldIgnoreFlagsSetToFalse() throws Exception {
+        // Given
+        AdmissionInterceptor interceptor = interceptor(100, 1, 1);
+
+        // When
+        boolean first = admit(interceptor, "10.0.0.1", "includeArchived", "true");
+        boolean unflagged = admit(interceptor, "10.0.0.1", "includeArchived", "false");
+        boolean upperCase = admit(interceptor, "10.0.0.1", "includeArchived", "FALSE");
+        boolean second = admit(interceptor, "10.0.0.1", "includeArchived", "true");
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(unflagged).isTrue(); // passes untouched, so it takes no token
+        assertThat(upperCase).isTrue();
+        assertThat(second).isFalse(); // the single token went to the first request
+    }
+
+    @Test
+    @DisplayName("Should sweep idle buckets at most once per interval")
+    void shouldAmortizeBucketSweeps() throws Exception {
+        // Given
+        AdmissionInterceptor interceptor = interceptor(1, 1, Integer.MAX_VALUE); // refills within nanoseconds
+
+        // When
+        admit(interceptor, "10.0.0.1", "keyword", "smith");
+        admit(interceptor, "10.0.0.2", "keyword", "smith");
+        int afterSweep = interceptor.getTrackedBuckets();
+        for (int user = 3; user <= 5; user++) {
+            admit(interceptor, "10.0.0." + user, "keyword", "smith");
+        }
+
+        // Then
+        assertThat(afterSweep).isEqualTo(1); // the first user's bucket had refilled
+        assertThat(interceptor.getTrackedBuckets()).isEqualTo(4); // no further sweep within the interval
+    }
+}
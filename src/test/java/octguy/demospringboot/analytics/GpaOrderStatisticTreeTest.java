@@ -0,0 +1,70 @@
+package octguy.demospringboot.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GpaOrderStatisticTree Tests")
+class GpaOrderStatisticTreeTest {
+
+    private record Entry(double gpa, long id) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::gpa).reversed()
+            .thenComparingLong(Entry::id);
+
+    @Test
+    @DisplayName("Should order by GPA descending with ties broken by id")
+    void shouldRankAndSelect() {
+        // Given
+        GpaOrderStatisticTree tree = new GpaOrderStatisticTree();
+        tree.insert(3.5, 2);
+        tree.insert(3.8, 1);
+        tree.insert(2.9, 3);
+        tree.insert(3.5, 4);
+
+        // When & Then
+        assertThat(tree.select(0, 10)).containsExactly(1, 2, 4, 3);
+        assertThat(tree.countBefore(3.5, 4)).isEqualTo(2);
+        assertThat(tree.countAbove(3.5)).isEqualTo(1);
+        assertThat(tree.countBelow(3.5)).isEqualTo(1);
+        assertThat(tree.gpaAt(3)).isEqualTo(2.9);
+    }
+
+    @Test
+    @DisplayName("Should match a sorted list through random inserts and removes")
+    void shouldMatchSortedList() {
+        // Given
+        GpaOrderStatisticTree tree = new GpaOrderStatisticTree();
+        List<Entry> expected = new ArrayList<>();
+        Random random = new Random(7);
+
+        // When
+        for (long id = 0; id < 2_000; id++) {
+            Entry entry = new Entry(random.nextInt(401) / 100.0, id);
+            tree.insert(entry.gpa(), entry.id());
+            expected.add(entry);
+            if (random.nextInt(4) == 0) {
+                Entry removed = expected.remove(random.nextInt(expected.size()));
+                assertThat(tree.remove(removed.gpa(), removed.id())).isTrue();
+            }
+        }
+        expected.sort(ORDER);
+
+        // Then
+        assertThat(tree.size()).isEqualTo(expected.size());
+        assertThat(tree.remove(5.0, -1)).isFalse();
+        long[] ids = tree.select(0, expected.size());
+        for (int position = 0; position < expected.size(); position++) {
+            Entry entry = expected.get(position);
+            assertThat(ids[position]).isEqualTo(entry.id());
+            assertThat(tree.countBefore(entry.gpa(), entry.id())).isEqualTo(position);
+        }
+    }
+}
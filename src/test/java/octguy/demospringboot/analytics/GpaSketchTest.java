@@ -0,0 +1,76 @@
+package octguy.demospringboot.analytics;
+
+import octguy.demospringboot.dto.GpaDistribution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GpaSketch Tests")
+class GpaSketchTest {
+
+    private static GpaSketch sketchOf(double... gpas) {
+        GpaSketch sketch = new GpaSketch();
+        for (double gpa : gpas) {
+            sketch.add(gpa);
+        }
+        return sketch;
+    }
+
+    @Test
+    @DisplayName("Should return nearest-rank quantiles")
+    void shouldComputeQuantiles() {
+        // Given
+        GpaSketch sketch = new GpaSketch();
+        for (int i = 1; i <= 100; i++) {
+            sketch.add(i * 0.04); // 0.04 .. 4.00
+        }
+
+        // When & Then
+        assertThat(sketch.count()).isEqualTo(100);
+        assertThat(sketch.quantile(0.5)).isEqualTo(2.0);
+        assertThat(sketch.quantile(0.9)).isEqualTo(3.6);
+        assertThat(sketch.quantile(0.99)).isEqualTo(3.96);
+        assertThat(sketch.mean()).isCloseTo(2.02, within(1e-9));
+        assertThat(new GpaSketch().quantile(0.5)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should merge and remove exactly")
+    void shouldMergeAndRemove() {
+        // Given
+        GpaSketch computerScience = sketchOf(3.8, 2.9);
+        GpaSketch mathematics = sketchOf(3.5);
+
+        // When
+        GpaSketch merged = new GpaSketch().merge(computerScience).merge(mathematics);
+        merged.remove(2.9);
+
+        // Then
+        assertThat(merged.count()).isEqualTo(2);
+        assertThat(merged.quantile(0.5)).isEqualTo(3.5);
+        assertThat(computerScience.count()).isEqualTo(2);
+        assertThatThrownBy(() -> merged.remove(1.0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should bucket GPAs into bins of the requested width")
+    void shouldBuildHistogram() {
+        // Given
+        GpaSketch sketch = sketchOf(0.0, 2.99, 3.0, 3.74, 3.75, 4.0);
+
+        // When
+        List<GpaDistribution.Bin> bins = sketch.histogram(0.25);
+
+        // Then
+        assertThat(bins).hasSize(16);
+        assertThat(bins.get(0)).isEqualTo(new GpaDistribution.Bin(0.0, 0.25, 1));
+        assertThat(bins.get(11).getCount()).isEqualTo(1); // 2.75-3.00
+        assertThat(bins.get(12).getCount()).isEqualTo(1); // 3.00-3.25
+        assertThat(bins.get(14).getCount()).isEqualTo(1); // 3.50-3.75
+        assertThat(bins.get(15)).isEqualTo(new GpaDistribution.Bin(3.75, 4.0, 2));
+        assertThatThrownBy(() -> sketch.histogram(0.125)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,179 @@
+package octguy.demospringboot.archive;
+
+import octguy.demospringboot.delta.StudentDeltaExport;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.exception.DuplicateEmailException;
+import octguy.demospringboot.model.ArchivedStudent;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.model.StudentStatus;
+import octguy.demospringboot.outbox.StudentOutbox;
+import octguy.demospringboot.repository.ArchivedStudentRepository;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.service.MajorStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StudentArchive Tests")
+class StudentArchiveTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private ArchivedStudentRepository archivedStudentRepository;
+
+    @Mock
+    private MajorStatsService majorStatsService;
+
+    @Mock
+    private StudentDeltaExport studentDeltaExport;
+
+    @Mock
+    private StudentOutbox studentOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ArchiveProperties properties = new ArchiveProperties();
+
+    private StudentArchive studentArchive;
+
+    @BeforeEach
+    void setUp() {
+        studentArchive = new StudentArchive(studentRepository, archivedStudentRepository, majorStatsService,
+                studentDeltaExport, studentOutbox, eventPublisher, properties);
+    }
+
+    private Student student(long id, StudentStatus status) {
+        return Student.builder().id(id).name("Student " + id).email(id + "@example.com")
+                .major("Physics").gpa(3.2).status(status).build();
+    }
+
+    @Test
+    @DisplayName("Should copy, remove and record a batch with one statement each, then publish deletes")
+    void shouldMoveBatchSetBased() {
+        // Given
+        List<Student> students = List.of(student(4, StudentStatus.GRADUATED), student(9, StudentStatus.INACTIVE));
+        List<Long> ids = List.of(4L, 9L);
+
+        // When
+        studentArchive.moveToArchive(students, false);
+
+        // Then
+        InOrder inOrder = inOrder(archivedStudentRepository, studentRepository, majorStatsService,
+                studentDeltaExport, studentOutbox);
+        inOrder.verify(archivedStudentRepository).copyFromStudents(eq(ids), eq(false), any());
+        inOrder.verify(studentRepository).deleteAllByIdInBatch(ids);
+        inOrder.verify(majorStatsService).recordArchived(ids);
+        inOrder.verify(studentDeltaExport).recordArchived(ids);
+        inOrder.verify(studentOutbox).appendArchived(ids);
+        ArgumentCaptor<StudentChangedEvent> events = ArgumentCaptor.forClass(StudentChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(StudentChangedEvent::type)
+                .containsOnly(StudentChangedEvent.Type.DELETED);
+        assertThat(events.getAllValues()).extracting(StudentChangedEvent::id).containsExactly(4L, 9L);
+    }
+
+    @Test
+    @DisplayName("Should select students in the configured statuses unchanged for the configured time")
+    void shouldArchiveStudentsDueForArchiving() {
+        // Given
+        properties.setAfter(Duration.ofDays(30));
+        properties.setBatchSize(2);
+        when(studentRepository.findArchivable(any(), any(), any()))
+                .thenReturn(List.of(student(4, StudentStatus.GRADUATED)));
+
+        // When
+        int moved = studentArchive.archiveBatch();
+
+        // Then
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(studentRepository).findArchivable(eq(EnumSet.of(StudentStatus.GRADUATED, StudentStatus.INACTIVE)),
+                cutoff.capture(), page.capture());
+        assertThat(cutoff.getValue()).isBetween(Instant.now().minus(Duration.ofDays(30)).minusSeconds(5),
+                Instant.now().minus(Duration.ofDays(30)));
+        assertThat(page.getValue().getPageSize()).isEqualTo(2);
+        assertThat(moved).isEqualTo(1);
+        verify(archivedStudentRepository).copyFromStudents(eq(List.of(4L)), eq(false), any());
+    }
+
+    @Test
+    @DisplayName("Should archive nothing when no status is configured for archiving")
+    void shouldSkipWithoutStatuses() {
+        // Given
+        properties.setStatuses(EnumSet.noneOf(StudentStatus.class));
+
+        // When
+        int moved = studentArchive.archiveBatch();
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(studentRepository, archivedStudentRepository);
+    }
+
+    @Test
+    @DisplayName("Should restore an archived student as active under its id and forget its tombstone")
+    void shouldRestoreAsActive() {
+        // Given
+        ArchivedStudent archived = ArchivedStudent.builder().id(7L).name("Ann Lee").email("ann@example.com")
+                .major("History").gpa(3.6).status(StudentStatus.GRADUATED).deleted(true)
+                .createdAt(Instant.parse("2024-01-01T00:00:00Z")).build();
+        when(archivedStudentRepository.findById(7L)).thenReturn(Optional.of(archived));
+        when(studentRepository.existsByEmail("ann@example.com")).thenReturn(false);
+
+        // When
+        Student restored = studentArchive.restore(7L);
+
+        // Then
+        assertThat(restored.getId()).isEqualTo(7L);
+        assertThat(restored.getStatus()).isEqualTo(StudentStatus.ACTIVE);
+        assertThat(restored.getCreatedAt()).isEqualTo(archived.getCreatedAt());
+        verify(archivedStudentRepository).copyToStudents(eq(7L), any());
+        verify(archivedStudentRepository).delete(archived);
+        verify(majorStatsService).recordAdded(restored);
+        verify(studentDeltaExport).recordRestored(7L);
+        ArgumentCaptor<StudentChangedEvent> event = ArgumentCaptor.forClass(StudentChangedEvent.class);
+        verify(studentOutbox).append(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(StudentChangedEvent.Type.CREATED);
+        verify(eventPublisher).publishEvent(event.getValue());
+    }
+
+    @Test
+    @DisplayName("Should refuse to restore a student whose email a current student has taken")
+    void shouldRejectRestoreWithTakenEmail() {
+        // Given
+        ArchivedStudent archived = ArchivedStudent.builder().id(7L).email("ann@example.com").build();
+        when(archivedStudentRepository.findById(7L)).thenReturn(Optional.of(archived));
+        when(studentRepository.existsByEmail("ann@example.com")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> studentArchive.restore(7L))
+                .isInstanceOf(DuplicateEmailException.class)
+                .hasMessageContaining("ann@example.com");
+        verify(archivedStudentRepository, never()).copyToStudents(anyLong(), any());
+        verify(archivedStudentRepository, never()).copyFromStudents(any(), anyBoolean(), any());
+    }
+}
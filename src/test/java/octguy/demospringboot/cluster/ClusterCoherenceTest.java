@@ -0,0 +1,122 @@
+package octguy.demospringboot.cluster;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import octguy.demospringboot.DemoSpringBootApplication;
+import octguy.demospringboot.analytics.GpaDistributionService;
+import octguy.demospringboot.analytics.StudentRankService;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.search.TypeaheadService;
+import octguy.demospringboot.service.StudentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Two application contexts sharing one file-based H2 database, as two replicas would, with the
+ * shipped schema settings: the first node migrates the database and both only validate it.
+ */
+@DisplayName("Cluster Coherence Tests")
+class ClusterCoherenceTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        Path directory = Files.createTempDirectory("cluster-coherence");
+        String url = "jdbc:h2:file:" + directory.resolve("studentdb").toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE";
+        nodeA = startNode("node-a", url);
+        nodeB = startNode("node-b", url);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String url) {
+        return new SpringApplicationBuilder(DemoSpringBootApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.show-sql=false",
+                "--app.cluster.enabled=true",
+                "--app.outbox.node-id=" + nodeId,
+                "--app.outbox.poll-interval=PT0.1S",
+                "--app.outbox.gap-timeout=PT1S");
+    }
+
+    private static void await(String description, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply writes made on one node to the other node's structures")
+    void shouldPropagateWritesBetweenNodes() throws InterruptedException {
+        // Given
+        StudentService writer = nodeA.getBean(StudentService.class);
+        TypeaheadService typeahead = nodeB.getBean(TypeaheadService.class);
+        GpaDistributionService distributions = nodeB.getBean(GpaDistributionService.class);
+        StudentRankService ranks = nodeB.getBean(StudentRankService.class);
+
+        // When
+        Student created = writer.createStudent(Student.builder()
+                .name("Quorum Replica")
+                .email("quorum.replica@example.com")
+                .major("Distributed Systems")
+                .gpa(3.7)
+                .build());
+
+        // Then
+        await("the create on node B", () -> typeahead.suggest("Quorum", 5).getNames().contains("Quorum Replica")
+                && distributions.getDistribution(List.of("Distributed Systems"), 0.25).getCount() == 1);
+        assertThat(ranks.getRank(created)).isPresent();
+
+        // When
+        writer.updateStudent(created.getId(), Student.builder()
+                .name("Quorum Replica")
+                .email("quorum.replica@example.com")
+                .major("Consensus")
+                .gpa(3.9)
+                .build());
+
+        // Then
+        await("the update on node B", () -> distributions.getDistribution(List.of("Consensus"), 0.25).getCount() == 1
+                && distributions.getDistribution(List.of("Distributed Systems"), 0.25).getCount() == 0);
+
+        // When
+        writer.deleteStudent(created.getId());
+
+        // Then
+        await("the delete on node B", () -> typeahead.suggest("Quorum", 5).getNames().isEmpty());
+        assertThat(nodeB.getBean(MeterRegistry.class).get("cluster.invalidation.lag").timer().count())
+                .isGreaterThanOrEqualTo(3);
+        assertThat(nodeA.getBean(MeterRegistry.class).get("cluster.invalidation.lag").timer().count())
+                .isZero(); // its own writes are not replayed
+        assertThat(nodeB.getBean(ClusterHealthIndicator.class).health().getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,45 @@
+package octguy.demospringboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import octguy.demospringboot.jdbc.ConnectionLimitingDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+@DisplayName("VirtualThreadConfig Tests")
+class VirtualThreadConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should put the permit limiter under the query-budget proxy with one permit per pooled connection")
+    void shouldLimitConnectionsToPoolSize() throws SQLException {
+        // When
+        ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+        Gauge available = meterRegistry.find("jdbc.connection.permits.available").gauge();
+
+        // Then
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        assertThat(limiter.getTargetDataSource()).isInstanceOf(HikariDataSource.class);
+        assertThat(limiter.getMaxConcurrent()).isEqualTo(7);
+        assertThat(available).isNotNull();
+        assertThat(meterRegistry.find("jdbc.connection.permits.waiting").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,99 @@
+package octguy.demospringboot.delta;
+
+import octguy.demospringboot.dto.StudentDelta;
+import octguy.demospringboot.exception.WatermarkExpiredException;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.repository.StudentTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StudentDeltaExport Tests")
+class StudentDeltaExportTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentTombstoneRepository tombstoneRepository;
+
+    private StudentDeltaExport deltaExport;
+
+    private final Instant changedAt = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MICROS);
+
+    @BeforeEach
+    void setUp() {
+        deltaExport = new StudentDeltaExport(studentRepository, tombstoneRepository, new DeltaExportProperties());
+    }
+
+    private Student student(long id) {
+        return Student.builder().id(id).name("Student " + id).email(id + "@example.com")
+                .major("Physics").gpa(3.0).updatedAt(changedAt).build();
+    }
+
+    @Test
+    @DisplayName("Should continue after the last row of a full page and include deletions up to it")
+    void shouldPageByUpdateTimeAndId() {
+        // Given
+        DeltaWatermark since = new DeltaWatermark(changedAt.minusSeconds(60), 0);
+        when(studentRepository.findChangedSince(eq(since.updatedAt()), eq(0L), any(), any()))
+                .thenReturn(List.of(student(7), student(9)));
+        when(tombstoneRepository.findStudentIdsDeletedBetween(since.updatedAt(), changedAt)).thenReturn(List.of(3L));
+
+        // When
+        StudentDelta delta = deltaExport.changesSince(since.toString(), 2);
+
+        // Then
+        assertThat(delta.getChanged()).extracting(Student::getId).containsExactly(7L, 9L);
+        assertThat(delta.getDeleted()).containsExactly(3L);
+        assertThat(delta.isMore()).isTrue();
+        assertThat(DeltaWatermark.parse(delta.getWatermark())).isEqualTo(new DeltaWatermark(changedAt, 9));
+    }
+
+    @Test
+    @DisplayName("Should end at the settle horizon when the page is not full, without deletions on a first sync")
+    void shouldEndAtSettleHorizon() {
+        // Given
+        when(studentRepository.findChangedSince(eq(Instant.EPOCH), eq(0L), any(), any()))
+                .thenReturn(List.of(student(1)));
+
+        // When
+        StudentDelta delta = deltaExport.changesSince(null, 10);
+
+        // Then
+        ArgumentCaptor<Instant> upTo = ArgumentCaptor.forClass(Instant.class);
+        verify(studentRepository).findChangedSince(eq(Instant.EPOCH), eq(0L), upTo.capture(), any());
+        assertThat(upTo.getValue()).isBefore(Instant.now().minusSeconds(4));
+        assertThat(delta.isMore()).isFalse();
+        assertThat(delta.getDeleted()).isEmpty();
+        assertThat(delta.getWatermark()).isEqualTo(DeltaWatermark.endOf(upTo.getValue()).toString());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed watermarks and ones older than the tombstone retention")
+    void shouldRejectBadWatermarks() {
+        // When & Then
+        assertThatThrownBy(() -> deltaExport.changesSince("yesterday", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> deltaExport.changesSince(new DeltaWatermark(Instant.EPOCH, 0).toString(), 10))
+                .isInstanceOf(WatermarkExpiredException.class);
+        verify(studentRepository, never()).findChangedSince(any(), anyLong(), any(), any());
+    }
+}
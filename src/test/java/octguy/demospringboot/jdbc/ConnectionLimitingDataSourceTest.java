@@ -0,0 +1,94 @@
+package octguy.demospringboot.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConnectionLimitingDataSource Tests")
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(pool, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed")
+    void shouldHoldPermitUntilConnectionClosed() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenReturn(connection);
+
+        // When
+        Connection first = dataSource.getConnection();
+
+        // Then
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        first.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Should release the permit only once when closed twice")
+    void shouldReleasePermitOnlyOnce() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenReturn(connection);
+
+        // When
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        // Then
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when all permits are taken")
+    void shouldFailFastWhenPermitsExhausted() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Connection permit not available");
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should give the permit back when the pool throws")
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLException.class)
+                .hasMessage("pool exhausted");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+}
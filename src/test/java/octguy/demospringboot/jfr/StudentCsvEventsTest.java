@@ -0,0 +1,122 @@
+package octguy.demospringboot.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import octguy.demospringboot.config.JfrRecordingConfig;
+import octguy.demospringboot.exception.DuplicateEmailException;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.search.NearDuplicateService;
+import octguy.demospringboot.service.StudentCsvService;
+import octguy.demospringboot.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Student CSV JFR Event Tests")
+class StudentCsvEventsTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private NearDuplicateService nearDuplicateService;
+
+    @TempDir
+    private Path tempDir;
+
+    private Recording recording;
+    private StudentCsvService studentCsvService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // the same settings as app.jfr.recording.enabled=true, so the profile is covered too
+        recording = new JfrRecordingConfig().studentOperationsRecording(Duration.ofMinutes(5),
+                tempDir.resolve("exit.jfr"));
+        recording.setDumpOnExit(false);
+        studentCsvService = new StudentCsvService(studentService, nearDuplicateService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    private RecordedEvent single(String eventName) throws Exception {
+        recording.stop();
+        Path dump = tempDir.resolve("events.jfr");
+        recording.dump(dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+        assertThat(events).hasSize(1);
+        return events.getFirst();
+    }
+
+    @Test
+    @DisplayName("Should commit an import event with row outcomes, file size and every phase timed")
+    void shouldRecordImport() throws Exception {
+        // Given
+        byte[] csv = """
+                Name,Email,Major,GPA
+                Ann Lee,ann@example.com,History,3.6
+                Bo Chen,bo@example.com,Physics,3.1
+                Cy Diaz,cy@example.com,Biology,high
+                """.getBytes(StandardCharsets.UTF_8);
+        when(studentService.createStudent(any(Student.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DuplicateEmailException("Student with email bo@example.com already exists"));
+
+        // When
+        studentCsvService.importFromCSV(new ByteArrayInputStream(csv), csv.length);
+
+        // Then
+        RecordedEvent event = single("octguy.StudentImport");
+        assertThat(event.getLong("bytes")).isEqualTo(csv.length);
+        assertThat(event.getInt("rows")).isEqualTo(3);
+        assertThat(event.getInt("accepted")).isEqualTo(1);
+        assertThat(event.getInt("rejected")).isEqualTo(2); // bad GPA, taken email
+        assertThat(event.getInt("flagged")).isZero();
+        assertThat(event.getDuration("parseNanos")).isPositive();
+        assertThat(event.getDuration("validateNanos")).isPositive();
+        assertThat(event.getDuration("writeNanos")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should commit an export event with the rows and bytes written")
+    void shouldRecordExport() throws Exception {
+        // Given
+        when(studentService.getAllStudentsNoPaging()).thenReturn(List.of(
+                new Student(1L, "Ann Lee", "ann@example.com", "History", 3.6),
+                new Student(2L, "Bo Chen", "bo@example.com", "Physics", 3.1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int exported = studentCsvService.exportToCSV(out);
+
+        // Then
+        RecordedEvent event = single("octguy.StudentExport");
+        assertThat(exported).isEqualTo(2);
+        assertThat(event.getInt("rows")).isEqualTo(2);
+        assertThat(event.getLong("bytes")).isEqualTo(out.size()).isPositive();
+        assertThat(event.getDuration("queryNanos")).isPositive();
+        assertThat(event.getDuration("writeNanos")).isPositive();
+    }
+}
@@ -0,0 +1,45 @@
+package octguy.demospringboot.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import octguy.demospringboot.service.StudentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Closed afterwards so the contexts of later tests start from the default logging setup again
+@SpringBootTest
+@ActiveProfiles("prod")
+@DirtiesContext
+@DisplayName("Prod logging profile Tests")
+class ProdLoggingSamplingTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    @DisplayName("Should sample hot-path messages with the shipped prod settings")
+    void shouldSampleHotPathMessages() {
+        // Given
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        SamplingTurboFilter filter = context.getTurboFilterList().stream()
+                .filter(SamplingTurboFilter.class::isInstance)
+                .map(SamplingTurboFilter.class::cast)
+                .findFirst()
+                .orElseThrow();
+        long before = filter.getSuppressed();
+
+        // When: two hot-path messages per call, well past 50 per second
+        for (int i = 0; i < 200; i++) {
+            studentService.getAllStudents(0, 10, "id");
+        }
+
+        // Then
+        assertThat(filter.getSuppressed() - before).isPositive();
+    }
+}
@@ -0,0 +1,65 @@
+package octguy.demospringboot.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SamplingTurboFilter Tests")
+class SamplingTurboFilterTest {
+
+    private final Logger logger = new LoggerContext().getLogger("hot");
+
+    private SamplingTurboFilter filter(int perSecond, int sampleEvery) {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setPerSecond(perSecond);
+        filter.setSampleEvery(sampleEvery);
+        filter.start();
+        logger.setLevel(Level.DEBUG);
+        return filter;
+    }
+
+    private int passed(SamplingTurboFilter filter, int calls) {
+        int passed = 0;
+        for (int i = 0; i < calls; i++) {
+            if (filter.decide(LogMarkers.HOT_PATH, logger, Level.DEBUG, "id {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @Test
+    @DisplayName("Should pass the per-second budget, then one in every sampleEvery messages")
+    void shouldRateLimitAndSample() {
+        // Given
+        SamplingTurboFilter filter = filter(10, 5);
+
+        // When
+        int passed = passed(filter, 60);
+
+        // Then
+        assertThat(passed).isEqualTo(20);
+        assertThat(filter.getSuppressed()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should leave unmarked and disabled messages alone")
+    void shouldIgnoreOtherMessages() {
+        // Given
+        SamplingTurboFilter filter = filter(0, 0);
+
+        // When
+        FilterReply unmarked = filter.decide(null, logger, Level.DEBUG, "id {}", null, null);
+        FilterReply disabled = filter.decide(LogMarkers.HOT_PATH, logger, Level.TRACE, "id {}", null, null);
+
+        // Then
+        assertThat(unmarked).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(disabled).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressed()).isZero();
+    }
+}
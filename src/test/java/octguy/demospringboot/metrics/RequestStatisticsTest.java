@@ -0,0 +1,103 @@
+package octguy.demospringboot.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import octguy.demospringboot.repository.StudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Request Statistics Tests")
+class RequestStatisticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private DistributionSummary summary(String name, String uri) {
+        return meterRegistry.find(name).tag("uri", uri).summary();
+    }
+
+    private double total(String name, String uri) {
+        DistributionSummary summary = summary(name, uri);
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private long samples(String name, String uri) {
+        DistributionSummary summary = summary(name, uri);
+        return summary == null ? 0 : summary.count();
+    }
+
+    private double rows(String result) {
+        Counter counter = meterRegistry.find("student.import.rows").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    @DisplayName("Should record the statements and entity loads of one request under its URI pattern")
+    void shouldRecordPerRequestStatements() throws Exception {
+        // Given
+        Long id = studentRepository.findAll().getFirst().getId();
+        long samplesBefore = samples("hibernate.request.queries", "/students/{id}");
+        double queriesBefore = total("hibernate.request.queries", "/students/{id}");
+        double loadsBefore = total("hibernate.request.entity.loads", "/students/{id}");
+
+        // When
+        mockMvc.perform(get("/students/{id}", id).with(user("user").roles("USER")))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(samples("hibernate.request.queries", "/students/{id}")).isEqualTo(samplesBefore + 1);
+        assertThat(total("hibernate.request.queries", "/students/{id}") - queriesBefore).isEqualTo(1.0);
+        assertThat(total("hibernate.request.entity.loads", "/students/{id}") - loadsBefore).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should count accepted and rejected rows after a CSV import")
+    void shouldCountImportedRows() throws Exception {
+        // Given
+        String csv = """
+                Name,Email,Major,GPA
+                Metrics One,metrics.one@example.com,Physics,3.2
+                Metrics Two,metrics.two@example.com,History,2.8
+                Metrics Three,metrics.three@example.com,Biology,not-a-number
+                Metrics Four,metrics.one@example.com,Physics,3.0
+                """;
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        double acceptedBefore = rows("accepted");
+        double rejectedBefore = rows("rejected");
+        long importsBefore = samples("hibernate.request.queries", "/students/import");
+
+        // When
+        mockMvc.perform(multipart("/students/import").file(file).with(csrf()).with(user("admin").roles("ADMIN")))
+                .andExpect(status().is3xxRedirection());
+
+        // Then
+        assertThat(rows("accepted") - acceptedBefore).isEqualTo(2.0);
+        assertThat(rows("rejected") - rejectedBefore).isEqualTo(2.0); // bad GPA, repeated email
+        assertThat(samples("hibernate.request.queries", "/students/import")).isEqualTo(importsBefore + 1);
+        assertThat(summary("hibernate.request.queries", "/students/import").max()).isPositive();
+    }
+}
@@ -0,0 +1,146 @@
+package octguy.demospringboot.outbox;
+
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.model.OutboxEntry;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.model.StudentStatus;
+import octguy.demospringboot.repository.OutboxEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StudentOutbox Tests")
+class StudentOutboxTest {
+
+    @Mock
+    private OutboxEntryRepository repository;
+
+    private StudentOutbox outbox;
+
+    private final Student student = Student.builder()
+            .id(1L)
+            .name("John Doe")
+            .email("john@example.com")
+            .major("Computer Science")
+            .gpa(3.8)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        outbox = new StudentOutbox(repository, new OutboxProperties());
+    }
+
+    private static OutboxEntry entry(long sequence, Instant createdAt) {
+        return OutboxEntry.builder()
+                .sequence(sequence)
+                .studentId(sequence)
+                .operation(StudentChangedEvent.Type.CREATED)
+                .changedFields(StudentOutbox.ALL_FIELDS)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should record only the fields an update changed")
+    void shouldRecordChangedFields() {
+        // Given
+        Student previous = StudentChangedEvent.copy(student);
+        Student updated = StudentChangedEvent.copy(student);
+        updated.setMajor("Mathematics");
+        updated.setGpa(3.9);
+
+        // When
+        outbox.append(StudentChangedEvent.updated(previous, updated));
+
+        // Then
+        ArgumentCaptor<OutboxEntry> saved = ArgumentCaptor.forClass(OutboxEntry.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getOperation()).isEqualTo(StudentChangedEvent.Type.UPDATED);
+        assertThat(saved.getValue().getChangedFields()).isEqualTo("major,gpa");
+        assertThat(saved.getValue().getMajor()).isEqualTo("Mathematics");
+    }
+
+    @Test
+    @DisplayName("Should record an update that only changed the status")
+    void shouldRecordStatusOnlyUpdate() {
+        // Given
+        Student previous = StudentChangedEvent.copy(student);
+        Student updated = StudentChangedEvent.copy(student);
+        updated.setStatus(StudentStatus.GRADUATED);
+
+        // When
+        outbox.append(StudentChangedEvent.updated(previous, updated));
+
+        // Then
+        ArgumentCaptor<OutboxEntry> saved = ArgumentCaptor.forClass(OutboxEntry.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getChangedFields()).isEqualTo("status");
+        assertThat(saved.getValue().getStatus()).isEqualTo(StudentStatus.GRADUATED);
+        assertThat(saved.getValue().getPreviousStatus()).isEqualTo(StudentStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should not record an update that changed nothing")
+    void shouldSkipNoOpUpdate() {
+        // When
+        outbox.append(StudentChangedEvent.updated(StudentChangedEvent.copy(student), student));
+
+        // Then
+        verify(repository, never()).save(any(OutboxEntry.class));
+    }
+
+    @Test
+    @DisplayName("Should stop at a recent gap and read past an old one")
+    void shouldHoldBackAtRecentGap() {
+        // Given
+        Instant now = Instant.now();
+        Instant old = now.minusSeconds(60);
+        when(repository.findBySequenceGreaterThanOrderBySequence(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(entry(1, old), entry(3, old), entry(4, now), entry(6, now), entry(7, now)));
+
+        // When
+        List<OutboxEntry> read = outbox.read(0, 10);
+
+        // Then
+        assertThat(read).extracting(OutboxEntry::getSequence).containsExactly(1L, 3L, 4L);
+        assertThatThrownBy(() -> outbox.read(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read a passed-over gap again and deliver it once it commits")
+    void shouldReadLateGapAgain() {
+        // Given
+        Instant old = Instant.now().minusSeconds(60);
+        OutboxCursor cursor = new OutboxCursor(0);
+        when(repository.findBySequenceGreaterThanOrderBySequence(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(entry(1, old), entry(3, old)));
+        List<OutboxEntry> first = outbox.read(cursor, 10);
+        when(repository.findBySequenceInOrderBySequence(Set.of(2L))).thenReturn(List.of(entry(2, Instant.now())));
+        when(repository.findBySequenceGreaterThanOrderBySequence(eq(3L), any(Limit.class))).thenReturn(List.of());
+
+        // When
+        List<OutboxEntry> second = outbox.read(cursor, 10);
+
+        // Then
+        assertThat(first).extracting(OutboxEntry::getSequence).containsExactly(1L, 3L);
+        assertThat(second).extracting(OutboxEntry::getSequence).containsExactly(2L);
+        assertThat(cursor.position()).isEqualTo(3);
+        assertThat(cursor.gaps()).isEmpty();
+    }
+}
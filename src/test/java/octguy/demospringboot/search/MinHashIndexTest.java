@@ -0,0 +1,58 @@
+package octguy.demospringboot.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MinHashIndex Tests")
+class MinHashIndexTest {
+
+    @Test
+    @DisplayName("Should score spelling variants of the same person above unrelated students")
+    void shouldScoreSimilarity() {
+        // When
+        double variant = MinHashIndex.similarity("Jon Doe", "jon.doe@ex.com", "John Doe", "john.doe@ex.com");
+        double reordered = MinHashIndex.similarity("Doe, Jöhn", "John.Doe+work@ex.com", "John Doe", "johndoe@other.org");
+        double unrelated = MinHashIndex.similarity("Maria Garcia", "maria.garcia@ex.com", "John Doe", "john.doe@ex.com");
+
+        // Then
+        assertThat(variant).isBetween(0.6, 0.8);
+        assertThat(reordered).isEqualTo(1.0);
+        assertThat(unrelated).isLessThan(0.2);
+    }
+
+    @Test
+    @DisplayName("Should find a student with the same normalized name and email and skip unrelated ones")
+    void shouldFindCandidates() {
+        // Given
+        MinHashIndex index = new MinHashIndex(4);
+        index.add(1, "John Doe", "john.doe@ex.com");
+        index.add(2, "Maria Garcia", "maria.garcia@ex.com");
+
+        // When & Then
+        assertThat(index.candidates("Doe, John", "johndoe+import@other.org", 10)).containsExactly(1L);
+        assertThat(index.candidates("Wei Zhang", "wzhang@ex.com", 10)).isEmpty();
+        assertThat(index.candidates("", "", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep ids findable across growth and forget removed ones")
+    void shouldGrowAndRemove() {
+        // Given
+        MinHashIndex index = new MinHashIndex(1);
+        for (int id = 1; id <= 1000; id++) {
+            index.add(id, "Student " + id, "student" + id + "@ex.com");
+        }
+
+        // When
+        index.remove(500, "Student 500", "student500@ex.com");
+        index.remove(501, "Someone Else", "student501@ex.com");
+
+        // Then
+        assertThat(index.size()).isEqualTo(999);
+        assertThat(index.candidates("Student 499", "student499@ex.com", 1)).containsExactly(499L);
+        assertThat(index.candidates("Student 500", "student500@ex.com", 1000)).doesNotContain(500L);
+        assertThat(index.candidates("Student 501", "student501@ex.com", 1)).containsExactly(501L);
+    }
+}
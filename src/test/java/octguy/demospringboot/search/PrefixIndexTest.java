@@ -0,0 +1,51 @@
+package octguy.demospringboot.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PrefixIndex Tests")
+class PrefixIndexTest {
+
+    private static PrefixIndex indexOf(int rebuildThreshold, String... values) {
+        PrefixIndex index = new PrefixIndex(rebuildThreshold);
+        for (String value : values) {
+            index.add(value);
+        }
+        return index;
+    }
+
+    @Test
+    @DisplayName("Should return the most frequent matches first, ignoring case")
+    void shouldRankByFrequency() {
+        // Given
+        PrefixIndex index = indexOf(2, "Computer Science", "Chemistry", "Computer Science", "Mathematics",
+                "Chemistry", "Computer Engineering", "Chemistry");
+
+        // When & Then
+        assertThat(index.top("c", 10)).containsExactly("Chemistry", "Computer Science", "Computer Engineering");
+        assertThat(index.top("COMP", 1)).containsExactly("Computer Science");
+        assertThat(index.top("x", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reflect removals and new terms before and after a rebuild")
+    void shouldApplyUpdates() {
+        // Given
+        PrefixIndex index = indexOf(100, "Chemistry", "Chemistry", "Computer Science");
+        index.rebuild();
+
+        // When
+        index.remove("Chemistry");
+        index.remove("Chemistry");
+        index.add("Cooking");
+        index.add("Cooking");
+
+        // Then
+        assertThat(index.top("c", 10)).containsExactly("Cooking", "Computer Science");
+        index.rebuild();
+        assertThat(index.top("c", 10)).containsExactly("Cooking", "Computer Science");
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
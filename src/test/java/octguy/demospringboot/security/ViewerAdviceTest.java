@@ -0,0 +1,73 @@
+package octguy.demospringboot.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ViewerAdvice Tests")
+class ViewerAdviceTest {
+
+    private final ViewerAdvice advice = new ViewerAdvice();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn(String username, String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList(authorities)));
+    }
+
+    @Test
+    @DisplayName("Should map granted roles to the viewer's role bits")
+    void shouldMapRoles() {
+        // Given
+        signIn("admin@example.com", "ROLE_ADMIN", "SCOPE_read");
+
+        // When
+        Viewer viewer = advice.viewer(new MockHttpServletRequest());
+
+        // Then
+        assertThat(viewer.displayName()).isEqualTo("admin@example.com");
+        assertThat(viewer.isAdmin()).isTrue();
+        assertThat(viewer.isUser()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should build the viewer once per session and rebuild it for another user")
+    void shouldReuseViewerFromSession() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession(true);
+        signIn("user@example.com", "ROLE_USER");
+
+        // When
+        Viewer first = advice.viewer(request);
+        Viewer second = advice.viewer(request);
+        signIn("admin@example.com", "ROLE_ADMIN");
+        Viewer other = advice.viewer(request);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.isUser()).isTrue();
+        assertThat(other.isAdmin()).isTrue();
+        assertThat(request.getSession().getAttribute(ViewerAdvice.SESSION_ATTRIBUTE)).isSameAs(other);
+    }
+
+    @Test
+    @DisplayName("Should return no viewer when nobody is signed in")
+    void shouldReturnNullWhenAnonymous() {
+        // When
+        Viewer viewer = advice.viewer(new MockHttpServletRequest());
+
+        // Then
+        assertThat(viewer).isNull();
+    }
+}
@@ -0,0 +1,209 @@
+package octguy.demospringboot.service;
+
+import octguy.demospringboot.archive.StudentArchive;
+import octguy.demospringboot.model.MajorStats;
+import octguy.demospringboot.model.Student;
+import octguy.demospringboot.repository.StudentRepository;
+import octguy.demospringboot.view.FragmentCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("MajorStatsService Tests")
+class MajorStatsServiceTest {
+
+    private static final String GROUP_BY_SQL = "SELECT major, COUNT(*) AS student_count, SUM(gpa) AS gpa_sum, " +
+            "SUM(gpa * gpa) AS gpa_sum_squares, MIN(gpa) AS min_gpa, MAX(gpa) AS max_gpa, " +
+            "SUM(CASE WHEN gpa >= 3.5 THEN 1 ELSE 0 END) AS excellent_count, " +
+            "SUM(CASE WHEN gpa >= 3.0 AND gpa < 3.5 THEN 1 ELSE 0 END) AS good_count, " +
+            "SUM(CASE WHEN gpa < 3.0 THEN 1 ELSE 0 END) AS satisfactory_count " +
+            "FROM students GROUP BY major";
+
+    @Autowired
+    private MajorStatsService majorStatsService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentArchive studentArchive;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FragmentCache fragmentCache;
+
+    @Autowired
+    private SyntheticDataService syntheticDataService;
+
+    @BeforeEach
+    void setUp() {
+        majorStatsService.reconcile(); // start from a consistent table whatever earlier tests did
+    }
+
+    private Student create(String name, String major, double gpa) {
+        return studentService.createStudent(Student.builder()
+                .name(name)
+                .email(name.toLowerCase().replace(' ', '.') + "@stats.example.com")
+                .major(major)
+                .gpa(gpa)
+                .build());
+    }
+
+    private Student withGpa(Student student, String major, double gpa) {
+        return Student.builder()
+                .name(student.getName())
+                .email(student.getEmail())
+                .major(major)
+                .gpa(gpa)
+                .build();
+    }
+
+    private void assertMatchesStudents() {
+        Map<String, Map<String, Object>> expected = jdbcTemplate.queryForList(GROUP_BY_SQL).stream()
+                .collect(Collectors.toMap(row -> (String) row.get("MAJOR"), Function.identity()));
+        Map<String, MajorStats> actual = majorStatsService.getAll().stream()
+                .collect(Collectors.toMap(MajorStats::getMajor, Function.identity()));
+
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((major, row) -> {
+            MajorStats stats = actual.get(major);
+            assertThat(stats.getStudentCount()).as(major).isEqualTo(((Number) row.get("STUDENT_COUNT")).longValue());
+            assertThat(stats.getGpaSum()).as(major)
+                    .isCloseTo(((Number) row.get("GPA_SUM")).doubleValue(), within(1e-9));
+            assertThat(stats.getGpaSumSquares()).as(major)
+                    .isCloseTo(((Number) row.get("GPA_SUM_SQUARES")).doubleValue(), within(1e-9));
+            assertThat(stats.getMinGpa()).as(major).isEqualTo(((Number) row.get("MIN_GPA")).doubleValue());
+            assertThat(stats.getMaxGpa()).as(major).isEqualTo(((Number) row.get("MAX_GPA")).doubleValue());
+            assertThat(stats.getExcellentCount()).as(major)
+                    .isEqualTo(((Number) row.get("EXCELLENT_COUNT")).longValue());
+            assertThat(stats.getGoodCount()).as(major).isEqualTo(((Number) row.get("GOOD_COUNT")).longValue());
+            assertThat(stats.getSatisfactoryCount()).as(major)
+                    .isEqualTo(((Number) row.get("SATISFACTORY_COUNT")).longValue());
+        });
+    }
+
+    @Test
+    @DisplayName("Should follow creates and updates that change the major or the GPA band")
+    void shouldTrackCreatesAndUpdates() {
+        // When / Then
+        Student student = create("Stats Mover", "Stats Optics", 3.2);
+        assertMatchesStudents();
+
+        studentService.updateStudent(student.getId(), withGpa(student, "Stats Acoustics", 3.2));
+        assertMatchesStudents();
+        assertThat(majorStatsService.getAll()).extracting(MajorStats::getMajor).doesNotContain("Stats Optics");
+
+        studentService.updateStudent(student.getId(), withGpa(student, "Stats Acoustics", 3.7));
+        assertMatchesStudents();
+
+        assertThat(studentService.getAllMajors()).contains("Stats Acoustics").doesNotContain("Stats Optics");
+
+        studentService.deleteStudent(student.getId());
+        assertMatchesStudents();
+        assertThat(studentService.getAllMajors()).doesNotContain("Stats Acoustics");
+    }
+
+    @Test
+    @DisplayName("Should recompute the minimum and maximum when their holders are deleted")
+    void shouldRecomputeExtremesOnDelete() {
+        // Given
+        Student lowest = create("Stats Lowest", "Stats Geology", 2.1);
+        create("Stats Middle", "Stats Geology", 3.0);
+        Student highest = create("Stats Highest", "Stats Geology", 3.9);
+        assertMatchesStudents();
+
+        // When / Then
+        studentService.deleteStudent(highest.getId());
+        assertMatchesStudents();
+
+        studentService.deleteStudent(lowest.getId());
+        assertMatchesStudents();
+        assertThat(majorStatsService.getAll()).filteredOn(stats -> stats.getMajor().equals("Stats Geology"))
+                .singleElement()
+                .satisfies(stats -> {
+                    assertThat(stats.getMinGpa()).isEqualTo(3.0);
+                    assertThat(stats.getMaxGpa()).isEqualTo(3.0);
+                });
+    }
+
+    @Test
+    @DisplayName("Should subtract archived students")
+    void shouldSubtractArchivedStudents() {
+        // Given
+        Student first = create("Stats Archived One", "Stats Botany", 3.6);
+        Student second = create("Stats Archived Two", "Stats Botany", 2.4);
+        create("Stats Kept", "Stats Botany", 3.1);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> studentArchive.moveToArchive(
+                studentRepository.findAllById(List.of(first.getId(), second.getId())), false));
+
+        // Then
+        assertMatchesStudents();
+    }
+
+    @Test
+    @DisplayName("Should rebuild a corrupted row on reconcile and resync the cached views")
+    void shouldRepairCorruptedRow() {
+        // Given
+        create("Stats Corrupted", "Stats Zoology", 3.3);
+        jdbcTemplate.update("UPDATE major_stats SET student_count = student_count + 5, gpa_sum = gpa_sum + 1, " +
+                "max_gpa = 4.0 WHERE major = ?", "Stats Zoology");
+        long version = fragmentCache.getVersion();
+
+        // When
+        int drifted = majorStatsService.reconcile();
+
+        // Then
+        assertThat(drifted).isEqualTo(1);
+        assertMatchesStudents();
+        assertThat(fragmentCache.getVersion()).isGreaterThan(version);
+        long repaired = fragmentCache.getVersion();
+        assertThat(majorStatsService.reconcile()).isZero();
+        assertThat(fragmentCache.getVersion()).isEqualTo(repaired);
+    }
+
+    @Test
+    @DisplayName("Should reconcile and resync after synthetic rows are inserted into a running application")
+    void shouldReconcileAfterSyntheticInsert() {
+        // Given
+        long version = fragmentCache.getVersion();
+
+        // When
+        syntheticDataService.insertStudents(7, 5_000_000, 50, 2, 20);
+
+        // Then
+        assertMatchesStudents();
+        assertThat(fragmentCache.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    @DisplayName("Should compare sums relative to their size")
+    void shouldCompareSumsRelatively() {
+        // Then
+        assertThat(MajorStatsService.closeTo(3.5, 3.5 + 5e-10)).isTrue();
+        assertThat(MajorStatsService.closeTo(3.5, 3.5 + 1e-8)).isFalse();
+        assertThat(MajorStatsService.closeTo(3.2e7, 3.2e7 + 1e-3)).isTrue();
+        assertThat(MajorStatsService.closeTo(3.2e7, 3.2e7 + 1)).isFalse();
+    }
+}
@@ -0,0 +1,105 @@
+package octguy.demospringboot.service;
+
+import octguy.demospringboot.exception.QueryBudgetExceededException;
+import octguy.demospringboot.jdbc.StatementScope;
+import octguy.demospringboot.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "app.query-budget.mode=FAIL")
+@DisplayName("StudentService Statement Budget Tests")
+class StudentServiceQueryBudgetTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    @DisplayName("Listing page 0 issues at most 2 statements")
+    void listingFirstPageStaysWithinBudget() {
+        // When
+        StatementScope scope;
+        try (StatementScope s = StatementScope.open("list page 0")) {
+            scope = s;
+            studentService.getAllStudents(0, 5, "id");
+        }
+
+        // Then
+        assertThat(scope.getCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Viewing a student issues a single statement")
+    void viewingStudentStaysWithinBudget() {
+        // Given
+        Long id = studentService.getAllStudents(0, 1, "id").getContent().get(0).getId();
+
+        // When
+        StatementScope scope;
+        try (StatementScope s = StatementScope.open("view student")) {
+            scope = s;
+            studentService.getStudentById(id);
+        }
+
+        // Then
+        assertThat(scope.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Dashboard statistics issue at most 2 statements")
+    void dashboardStaysWithinBudget() {
+        // When
+        StatementScope scope;
+        try (StatementScope s = StatementScope.open("dashboard")) {
+            scope = s;
+            studentService.getDashboardStats();
+        }
+
+        // Then
+        assertThat(scope.getCount()).isLessThanOrEqualTo(2); // major_stats + top performers
+    }
+
+    @Test
+    @DisplayName("Creating and deleting a student stays within budget")
+    void createAndDeleteStayWithinBudget() {
+        // Given
+        Student student = Student.builder()
+                .name("Budget Test")
+                .email("budget.test@example.com")
+                .major("Physics")
+                .gpa(3.1)
+                .build();
+
+        // When
+        StatementScope create;
+        Student saved;
+        try (StatementScope s = StatementScope.open("create student")) {
+            create = s;
+            saved = studentService.createStudent(student);
+        }
+        StatementScope delete;
+        try (StatementScope s = StatementScope.open("delete student")) {
+            delete = s;
+            studentService.deleteStudent(saved.getId());
+        }
+
+        // Then
+        assertThat(create.getCount()).isLessThanOrEqualTo(4); // existence check + insert + major_stats merge + outbox
+        assertThat(delete.getCount()).isLessThanOrEqualTo(6); // lookup + archive copy + delete + major_stats + tombstone + outbox
+    }
+
+    @Test
+    @DisplayName("Should reject the statement that goes over budget in FAIL mode")
+    void shouldFailWhenBudgetExceeded() {
+        // When & Then
+        try (StatementScope ignored = StatementScope.open("tight budget", 1)) {
+            studentService.getAllMajors();
+            assertThatThrownBy(() -> studentService.getDashboardStats())
+                    .isInstanceOf(QueryBudgetExceededException.class)
+                    .hasMessageContaining("Statement budget exceeded in tight budget: 2 > 1");
+        }
+    }
+}
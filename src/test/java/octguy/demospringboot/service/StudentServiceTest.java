@@ -1,9 +1,12 @@
 package octguy.demospringboot.service;
 
+import octguy.demospringboot.archive.StudentArchive;
 import octguy.demospringboot.dto.DashboardStats;
 import octguy.demospringboot.exception.DuplicateEmailException;
 import octguy.demospringboot.exception.StudentNotFoundException;
+import octguy.demospringboot.model.MajorStats;
 import octguy.demospringboot.model.Student;
+import octguy.demospringboot.outbox.StudentOutbox;
 import octguy.demospringboot.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.util.Arrays;
@@ -20,6 +24,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -30,6 +35,18 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MajorStatsService majorStatsService;
+
+    @Mock
+    private StudentOutbox studentOutbox;
+
+    @Mock
+    private StudentArchive studentArchive;
+
     @InjectMocks
     private StudentService studentService;
 
@@ -252,18 +269,18 @@ class StudentServiceTest {
     }
 
     @Test
-    @DisplayName("Should delete student successfully")
+    @DisplayName("Should delete student by moving it to the archive")
     void shouldDeleteStudentSuccessfully() {
         // Given
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        doNothing().when(studentRepository).delete(student1);
 
         // When
         studentService.deleteStudent(1L);
 
         // Then
         verify(studentRepository, times(1)).findById(1L);
-        verify(studentRepository, times(1)).delete(student1);
+        verify(studentArchive, times(1)).moveToArchive(List.of(student1), true);
+        verify(studentRepository, never()).delete(any(Student.class));
     }
 
     @Test
@@ -277,7 +294,7 @@ class StudentServiceTest {
                 .isInstanceOf(StudentNotFoundException.class)
                 .hasMessageContaining("Student not found with id: 999");
         verify(studentRepository, times(1)).findById(999L);
-        verify(studentRepository, never()).delete(any(Student.class));
+        verify(studentArchive, never()).moveToArchive(any(), anyBoolean());
     }
 
     @Test
@@ -301,8 +318,13 @@ class StudentServiceTest {
     @DisplayName("Should get dashboard statistics correctly")
     void shouldGetDashboardStatistics() {
         // Given
-        List<Student> students = Arrays.asList(student1, student2, student3);
-        when(studentRepository.findAll()).thenReturn(students);
+        List<MajorStats> majorStats = Arrays.asList(
+                MajorStats.builder().major("Computer Science").studentCount(2).gpaSum(6.7)
+                        .excellentCount(1).satisfactoryCount(1).build(),
+                MajorStats.builder().major("Mathematics").studentCount(1).gpaSum(3.5)
+                        .excellentCount(1).build());
+        when(majorStatsService.getAll()).thenReturn(majorStats);
+        when(studentRepository.findTop5ByOrderByGpaDescIdAsc()).thenReturn(Arrays.asList(student1, student2, student3));
 
         // When
         DashboardStats stats = studentService.getDashboardStats();
@@ -314,9 +336,10 @@ class StudentServiceTest {
         assertThat(stats.getExcellentStudents()).isEqualTo(2); // GPA >= 3.5
         assertThat(stats.getGoodStudents()).isEqualTo(0); // 3.0 <= GPA < 3.5
         assertThat(stats.getSatisfactoryStudents()).isEqualTo(1); // GPA < 3.0
-        assertThat(stats.getStudentsByMajor()).containsKeys("Computer Science", "Mathematics");
+        assertThat(stats.getStudentsByMajor()).containsEntry("Computer Science", 2L).containsEntry("Mathematics", 1L);
         assertThat(stats.getTopPerformers()).hasSize(3);
-        verify(studentRepository, times(1)).findAll();
+        verify(majorStatsService, times(1)).getAll();
+        verify(studentRepository, never()).findAll();
     }
 
     @Test
@@ -389,27 +412,25 @@ class StudentServiceTest {
     }
 
     @Test
-    @DisplayName("Should get all distinct majors")
+    @DisplayName("Should get all distinct majors from major_stats")
     void shouldGetAllDistinctMajors() {
         // Given
-        List<Student> students = Arrays.asList(student1, student2, student3);
-        when(studentRepository.findAll()).thenReturn(students);
+        when(majorStatsService.getMajors()).thenReturn(List.of("Computer Science", "Mathematics"));
 
         // When
         List<String> majors = studentService.getAllMajors();
 
         // Then
-        assertThat(majors).isNotNull();
-        assertThat(majors).hasSize(2);
-        assertThat(majors).containsExactlyInAnyOrder("Computer Science", "Mathematics");
-        verify(studentRepository, times(1)).findAll();
+        assertThat(majors).containsExactly("Computer Science", "Mathematics");
+        verify(studentRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Should handle empty student list in dashboard stats")
     void shouldHandleEmptyStudentListInDashboardStats() {
         // Given
-        when(studentRepository.findAll()).thenReturn(Arrays.asList());
+        when(majorStatsService.getAll()).thenReturn(Arrays.asList());
+        when(studentRepository.findTop5ByOrderByGpaDescIdAsc()).thenReturn(Arrays.asList());
 
         // When
         DashboardStats stats = studentService.getDashboardStats();
@@ -419,7 +440,7 @@ class StudentServiceTest {
         assertThat(stats.getTotalStudents()).isEqualTo(0);
         assertThat(stats.getAverageGpa()).isEqualTo(0.0);
         assertThat(stats.getTopPerformers()).isEmpty();
-        verify(studentRepository, times(1)).findAll();
+        verify(majorStatsService, times(1)).getAll();
     }
 
     @Test
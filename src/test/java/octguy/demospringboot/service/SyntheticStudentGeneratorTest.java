@@ -0,0 +1,63 @@
+package octguy.demospringboot.service;
+
+import octguy.demospringboot.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SyntheticStudentGenerator Tests")
+class SyntheticStudentGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate the same student for the same seed and index")
+    void shouldBeDeterministic() {
+        // Given
+        SyntheticStudentGenerator first = new SyntheticStudentGenerator(7);
+        SyntheticStudentGenerator second = new SyntheticStudentGenerator(7);
+
+        // When & Then
+        for (long index = 0; index < 100; index++) {
+            assertThat(second.generate(index)).isEqualTo(first.generate(index));
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate valid students with unique emails")
+    void shouldGenerateValidStudents() {
+        // Given
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(42);
+        Set<String> emails = new HashSet<>();
+
+        // When
+        LongStream.range(0, 10_000).mapToObj(generator::generate).forEach(student -> {
+            // Then
+            assertThat(student.getName()).hasSizeBetween(2, 100);
+            assertThat(student.getEmail()).contains("@");
+            assertThat(student.getMajor()).isIn((Object[]) SyntheticStudentGenerator.MAJORS);
+            assertThat(student.getGpa()).isBetween(0.0, 4.0);
+            emails.add(student.getEmail());
+        });
+        assertThat(emails).hasSize(10_000);
+    }
+
+    @Test
+    @DisplayName("Should skew majors towards the most popular ones")
+    void shouldSkewMajors() {
+        // Given
+        SyntheticStudentGenerator generator = new SyntheticStudentGenerator(42);
+
+        // When
+        long computerScience = LongStream.range(0, 10_000).mapToObj(generator::generate)
+                .map(Student::getMajor).filter("Computer Science"::equals).count();
+        long philosophy = LongStream.range(0, 10_000).mapToObj(generator::generate)
+                .map(Student::getMajor).filter("Philosophy"::equals).count();
+
+        // Then
+        assertThat(computerScience).isGreaterThan(philosophy * 5);
+    }
+}
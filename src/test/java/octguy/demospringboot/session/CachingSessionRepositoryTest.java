@@ -0,0 +1,107 @@
+package octguy.demospringboot.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CachingSessionRepository Tests")
+class CachingSessionRepositoryTest {
+
+    /**
+     * In-memory store that hands out a fresh copy on every read, like the JDBC store.
+     */
+    private static final class CountingStore extends MapSessionRepository
+            implements FindByIndexNameSessionRepository<MapSession> {
+        int reads;
+
+        CountingStore() {
+            super(new HashMap<>());
+        }
+
+        @Override
+        public MapSession findById(String id) {
+            reads++;
+            return super.findById(id);
+        }
+
+        @Override
+        public Map<String, MapSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+            return Map.of();
+        }
+    }
+
+    private final CountingStore store = new CountingStore();
+
+    private CachingSessionRepository<MapSession> cacheWithTtl(Duration ttl) {
+        return new CachingSessionRepository<>(store, ttl, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should serve a recently saved session without reading the store")
+    void shouldServeFromCache() {
+        // Given
+        CachingSessionRepository<MapSession> sessions = cacheWithTtl(Duration.ofMinutes(1));
+        MapSession session = sessions.createSession();
+        session.setAttribute("user", "admin");
+        sessions.save(session);
+
+        // When
+        MapSession first = sessions.findById(session.getId());
+        sessions.save(first);
+        MapSession second = sessions.findById(session.getId());
+
+        // Then
+        assertThat(second.<String>getAttribute("user")).isEqualTo("admin");
+        assertThat(store.reads).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand a concurrent request its own copy and stop caching the session")
+    void shouldNotShareLeasedSession() {
+        // Given
+        CachingSessionRepository<MapSession> sessions = cacheWithTtl(Duration.ofMinutes(1));
+        MapSession session = sessions.createSession();
+        sessions.save(session);
+
+        // When
+        MapSession first = sessions.findById(session.getId());
+        MapSession concurrent = sessions.findById(session.getId());
+        concurrent.setAttribute("theme", "dark");
+        sessions.save(concurrent);
+        first.setAttribute("user", "admin");
+        sessions.save(first);
+        MapSession next = sessions.findById(session.getId());
+
+        // Then
+        assertThat(concurrent).isNotSameAs(first);
+        assertThat(store.reads).isEqualTo(2);
+        assertThat(next).isNotSameAs(first).isNotSameAs(concurrent);
+    }
+
+    @Test
+    @DisplayName("Should read the store again once an entry is older than the TTL or deleted")
+    void shouldExpireAndEvict() {
+        // Given
+        CachingSessionRepository<MapSession> uncached = cacheWithTtl(Duration.ZERO);
+        MapSession session = uncached.createSession();
+        uncached.save(session);
+
+        // When
+        uncached.save(uncached.findById(session.getId()));
+        uncached.deleteById(session.getId());
+
+        // Then
+        assertThat(store.reads).isEqualTo(1);
+        assertThat(uncached.findById(session.getId())).isNull();
+        assertThat(uncached.size()).isZero();
+    }
+}
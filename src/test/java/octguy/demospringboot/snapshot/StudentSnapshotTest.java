@@ -0,0 +1,128 @@
+package octguy.demospringboot.snapshot;
+
+import octguy.demospringboot.dto.DashboardStats;
+import octguy.demospringboot.event.StudentChangedEvent;
+import octguy.demospringboot.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StudentSnapshot Tests")
+class StudentSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private StudentSnapshot snapshot(Path file) throws IOException {
+        new StudentColumns.Writer(3)
+                .add(1, "John Doe", "john@example.com", "Computer Science", 3.8)
+                .add(2, "Jane Smith", "jane@example.com", "Mathematics", 3.5)
+                .add(3, "Bob Johnson", "bob@example.com", "Computer Science", 2.9)
+                .writeTo(file);
+        return StudentSnapshot.of(StudentColumns.open(file));
+    }
+
+    private static Student student(long id, String name, String major, double gpa) {
+        return new Student(id, name, name.toLowerCase().replace(' ', '.') + "@example.com", major, gpa);
+    }
+
+    @Test
+    @DisplayName("Should map the columns written to disk")
+    void shouldRoundTripColumns() throws IOException {
+        // Given
+        Path file = directory.resolve("students.snap");
+        snapshot(file);
+
+        // When
+        StudentColumns columns = StudentColumns.open(file);
+
+        // Then
+        assertThat(columns.rows()).isEqualTo(3);
+        assertThat(columns.maxId()).isEqualTo(3);
+        assertThat(columns.name(1)).isEqualTo("Jane Smith");
+        assertThat(columns.email(2)).isEqualTo("bob@example.com");
+        assertThat(columns.majors()[columns.majorCode(2)]).isEqualTo("Computer Science");
+        assertThat(columns.gpa(0)).isEqualTo(3.8);
+        assertThat(columns.rowOf(2)).isEqualTo(1);
+        assertThat(columns.rowOf(4)).isNegative();
+    }
+
+    @Test
+    @DisplayName("Should compute the same dashboard statistics as the service")
+    void shouldComputeDashboardStats() throws IOException {
+        // When
+        DashboardStats stats = DashboardScan.dashboardStats(snapshot(directory.resolve("students.snap")));
+
+        // Then
+        assertThat(stats.getTotalStudents()).isEqualTo(3);
+        assertThat(stats.getAverageGpa()).isCloseTo(3.4, within(0.001));
+        assertThat(stats.getExcellentStudents()).isEqualTo(1);
+        assertThat(stats.getGoodStudents()).isEqualTo(1);
+        assertThat(stats.getSatisfactoryStudents()).isEqualTo(1);
+        assertThat(stats.getStudentsByMajor()).containsEntry("Computer Science", 2L).containsEntry("Mathematics", 1L);
+        assertThat(stats.getTopPerformers()).extracting(Student::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should fold change events into scans and into the compacted file")
+    void shouldApplyChangeEvents() throws IOException {
+        // Given
+        Path file = directory.resolve("students.snap");
+        StudentSnapshot snapshot = snapshot(file);
+
+        // When
+        StudentSnapshot next = snapshot.apply(List.of(
+                StudentChangedEvent.of(StudentChangedEvent.Type.UPDATED, student(3, "Bob Johnson", "Physics", 3.95)),
+                StudentChangedEvent.of(StudentChangedEvent.Type.DELETED, student(2, "Jane Smith", "Mathematics", 3.5)),
+                StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, student(4, "Alice Williams", "Physics", 3.1)),
+                StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, student(5, "Temp Student", "Physics", 2.0)),
+                StudentChangedEvent.of(StudentChangedEvent.Type.DELETED, student(5, "Temp Student", "Physics", 2.0))));
+        next.writeTo(file);
+        StudentSnapshot compacted = StudentSnapshot.of(StudentColumns.open(file));
+
+        // Then
+        for (StudentSnapshot result : List.of(next, compacted)) {
+            DashboardStats stats = DashboardScan.dashboardStats(result);
+            assertThat(stats.getTotalStudents()).isEqualTo(3);
+            assertThat(stats.getStudentsByMajor()).containsOnly(
+                    entry("Computer Science", 1L), entry("Physics", 2L));
+            assertThat(stats.getTopPerformers()).extracting(Student::getId).containsExactly(3L, 1L, 4L);
+        }
+        assertThat(snapshot.size()).isEqualTo(3); // earlier generations are untouched
+        assertThat(compacted.overlaySize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should advance the watermark when a row is updated in place, and keep it through compaction")
+    void shouldTrackWatermark() throws IOException {
+        // Given
+        Path file = directory.resolve("students.snap");
+        Instant written = Instant.parse("2026-01-01T00:00:00Z");
+        new StudentColumns.Writer(2)
+                .add(1, "John Doe", "john@example.com", "Computer Science", 3.8)
+                .changedAt(StudentColumns.watermark(written))
+                .add(2, "Jane Smith", "jane@example.com", "Mathematics", 3.5)
+                .changedAt(StudentColumns.watermark(written.minusSeconds(60)))
+                .writeTo(file);
+        StudentSnapshot snapshot = StudentSnapshot.of(StudentColumns.open(file));
+        Student updated = new Student(2L, "Jane Smith", "jane@example.com", "Physics", 3.5);
+        updated.setUpdatedAt(written.plusNanos(1_500));
+
+        // When
+        snapshot.apply(List.of(StudentChangedEvent.of(StudentChangedEvent.Type.UPDATED, updated))).writeTo(file);
+
+        // Then
+        StudentColumns compacted = StudentColumns.open(file);
+        assertThat(snapshot.watermark()).isEqualTo(StudentColumns.watermark(written));
+        assertThat(compacted.rows()).isEqualTo(2);
+        assertThat(compacted.maxId()).isEqualTo(2);
+        assertThat(compacted.watermark()).isEqualTo(StudentColumns.watermark(written) + 1);
+    }
+}
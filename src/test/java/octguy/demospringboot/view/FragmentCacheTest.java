@@ -0,0 +1,89 @@
+package octguy.demospringboot.view;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FragmentCache Tests")
+class FragmentCacheTest {
+
+    // StringTemplateResolver treats the template name as the template itself
+    private static final String TEMPLATE = """
+            <html xmlns:th="http://www.thymeleaf.org"><body>
+            <ul th:fragment="majors"><li th:each="major : ${majors}" th:text="${major}">Major</li></ul>
+            <p>not part of the fragment</p>
+            </body></html>""";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private FragmentCache cache(boolean enabled) {
+        TemplateEngine templateEngine = new TemplateEngine();
+        templateEngine.setTemplateResolver(new StringTemplateResolver());
+        FragmentCacheProperties properties = new FragmentCacheProperties();
+        properties.setEnabled(enabled);
+        return new FragmentCache(templateEngine, properties, new SimpleMeterRegistry());
+    }
+
+    private String render(FragmentCache cache) {
+        return cache.render(TEMPLATE, "majors", () -> {
+            loads.incrementAndGet();
+            return Map.of("majors", List.of("Mathematics", "Physics"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should render only the fragment and reuse it while the data is unchanged")
+    void shouldReuseRenderedFragment() {
+        // Given
+        FragmentCache cache = cache(true);
+
+        // When
+        String first = render(cache);
+        String second = render(cache);
+
+        // Then
+        assertThat(first).contains("<li>Mathematics</li>", "<li>Physics</li>").doesNotContain("not part");
+        assertThat(second).isEqualTo(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should render again after a student change or a resync")
+    void shouldRenderAgainAfterChange() {
+        // Given
+        FragmentCache cache = cache(true);
+        render(cache);
+
+        // When
+        cache.onStudentChanged(null);
+        render(cache);
+        cache.onResync();
+        render(cache);
+
+        // Then
+        assertThat(loads).hasValue(3);
+        assertThat(cache.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should render on every call when disabled")
+    void shouldNotCacheWhenDisabled() {
+        // Given
+        FragmentCache cache = cache(false);
+
+        // When
+        render(cache);
+        render(cache);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+}